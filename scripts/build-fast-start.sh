@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Builds what scripts/fast-start.sh launches: the sources in a jar (CDS
+# can't archive classes loaded from a directory) and an AppCDS archive
+# recorded from a training run of benchmarks.StartupBenchmark.
+#
+# Every build goes to its own directory under out/fast-start, and the
+# "current" link is switched to it with a rename once the jar and the
+# archive are both written. Workers starting meanwhile keep launching the
+# previous build, which is kept until the next one.
+#
+#   scripts/build-fast-start.sh [--force]
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/out/fast-start"
+CURRENT="$OUT/current"
+
+mkdir -p "$OUT"
+
+# One build at a time
+if command -v flock > /dev/null; then
+    exec 9> "$OUT/.lock"
+    flock 9
+fi
+
+if [ "${1:-}" != "--force" ] && [ -f "$CURRENT/tictactoe.jsa" ] \
+        && [ -z "$(find "$ROOT/src" -name '*.java' -newer "$CURRENT/tictactoe.jsa")" ]; then
+    exit 0
+fi
+
+BUILD="$(mktemp -d "$OUT/build.XXXXXX")"
+chmod 755 "$BUILD"
+trap 'rm -rf "$BUILD"' ERR
+
+mkdir "$BUILD/classes"
+javac -d "$BUILD/classes" $(find "$ROOT/src" -name '*.java')
+jar cf "$BUILD/tictactoe.jar" -C "$BUILD/classes" .
+java -XX:ArchiveClassesAtExit="$BUILD/tictactoe.jsa" -cp "$BUILD/tictactoe.jar" \
+    benchmarks.StartupBenchmark --training > /dev/null
+rm -rf "$BUILD/classes"
+
+PREVIOUS="$(cd "$CURRENT" 2> /dev/null && pwd -P || true)"
+ln -s "$(basename "$BUILD")" "$OUT/current.new"
+mv -T "$OUT/current.new" "$CURRENT"
+trap - ERR
+
+# Keeps the previous build for workers that resolved it before the switch
+for old in "$OUT"/build.*; do
+    if [ "$old" != "$BUILD" ] && [ "$old" != "$PREVIOUS" ]; then
+        rm -rf "$old"
+    fi
+done
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Fast-start launch mode for short-lived game workers. Starts the given
+# main class (Main by default) from the build of
+# scripts/build-fast-start.sh, with its AppCDS archive when there is one.
+# Builds nothing, so concurrent workers never race on the output.
+#
+#   scripts/fast-start.sh [main class] [args...]
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+# Resolved once, so the jar and the archive come from the same build
+BUILD="$(cd "$ROOT/out/fast-start/current" 2> /dev/null && pwd -P || true)"
+JAR="$BUILD/tictactoe.jar"
+ARCHIVE="$BUILD/tictactoe.jsa"
+
+if [ -z "$BUILD" ] || [ ! -f "$JAR" ]; then
+    echo "No fast-start build, run scripts/build-fast-start.sh first" >&2
+    exit 1
+fi
+
+MAIN="${1:-Main}"
+shift || true
+
+# Workers only live for a few games, C1 alone gets them going sooner
+if [ -f "$ARCHIVE" ]; then
+    exec java -XX:SharedArchiveFile="$ARCHIVE" -XX:TieredStopAtLevel=1 \
+        -cp "$JAR" "$MAIN" "$@"
+fi
+
+echo "No AppCDS archive in $BUILD, starting without it" >&2
+exec java -XX:TieredStopAtLevel=1 -cp "$JAR" "$MAIN" "$@"
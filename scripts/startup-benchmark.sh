@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Compares time-to-first-move of a plain launch against the fast-start
+# mode over a number of runs and prints the median of each.
+#
+#   scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${1:-10}"
+
+# Builds the jar and the archive if needed
+"$ROOT/scripts/build-fast-start.sh"
+JAR="$ROOT/out/fast-start/current/tictactoe.jar"
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+run() {
+    for _ in $(seq "$RUNS"); do
+        "$@" benchmarks.StartupBenchmark --launched-at="$(date +%s%3N)" | sed 's/.*=//'
+    done | median
+}
+
+echo "plain       time-to-first-move median ms=$(run java -cp "$JAR")"
+echo "fast-start  time-to-first-move median ms=$(run "$ROOT/scripts/fast-start.sh")"
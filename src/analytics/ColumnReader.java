@@ -0,0 +1,57 @@
+package analytics;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Reads back one column written by ColumnWriter. The buffer is reused
+// across chunks so a reader only ever holds one chunk in memory.
+class ColumnReader {
+    private byte[] bytes = new byte[1024];
+    private int length = 0;
+    private int position = 0;
+
+    void readFrom(DataInputStream in) throws IOException {
+        length = in.readInt();
+        if(length > bytes.length) {
+            bytes = new byte[Math.max(bytes.length * 2, length)];
+        }
+        in.readFully(bytes, 0, length);
+        position = 0;
+    }
+
+    static void skip(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        in.skipNBytes(length);
+    }
+
+    int readByte() {
+        return bytes[position++];
+    }
+
+    long readVarint() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+
+        return value;
+    }
+
+    String readString() {
+        int stringLength = (int) readVarint();
+        String value = new String(bytes, position, stringLength, StandardCharsets.UTF_8);
+        position += stringLength;
+
+        return value;
+    }
+
+    long readZigZag() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,196 @@
+package analytics;
+
+import models.BotDifficultyLevel;
+import models.Game;
+import models.GameState;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static analytics.GameExporter.*;
+
+// Streams a file written by GameExporter one chunk at a time, so memory use
+// does not depend on how many games the file holds. States, winners,
+// player counts, bot levels and strategy ids are checked as they are
+// decoded; a corrupt game throws an IOException naming its chunk and
+// index instead of failing somewhere in the caller.
+public class GameExportReader implements AutoCloseable {
+    private static final GameState[] GAME_STATES = GameState.values();
+    private static final int BOT_LEVELS_COUNT = BotDifficultyLevel.values().length;
+
+    private DataInputStream in;
+    private ColumnReader[] columns = new ColumnReader[COLUMNS_COUNT];
+    private int chunkIndex = -1;
+
+    public GameExportReader(InputStream inputStream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(inputStream, 1 << 16));
+
+        for (int i = 0; i < COLUMNS_COUNT; ++i) {
+            columns[i] = new ColumnReader();
+        }
+
+        if(in.readInt() != MAGIC) {
+            throw new IOException("Not a game export file");
+        }
+
+        int version = in.readUnsignedByte();
+        if(version != VERSION) {
+            throw new IOException("Unsupported game export version " + version);
+        }
+    }
+
+    // Adds every remaining game to stats. Board sizes, strategies and the
+    // move cells are skipped without being decoded.
+    public void aggregate(GameStats stats) throws IOException {
+        int gamesCount;
+        while((gamesCount = readGamesCount()) != -1) {
+            readColumns(STATES, WINNERS, BOT_LEVELS, DURATIONS, MOVE_COUNTS);
+
+            for (int i = 0; i < gamesCount; ++i) {
+                GameState gameState = readGameState(i);
+                int winnerSlot = columns[WINNERS].readByte();
+
+                int winnerBotLevel = GameRecord.HUMAN;
+                int playersCount = readPlayersCount(i);
+                for (int slot = 0; slot < playersCount; ++slot) {
+                    int botLevel = readBotLevel(i);
+                    if(slot == winnerSlot) {
+                        winnerBotLevel = botLevel;
+                    }
+                }
+                checkWinner(gameState, winnerSlot, playersCount, i);
+
+                long durationMillis = columns[DURATIONS].readVarint();
+                long movesCount = columns[MOVE_COUNTS].readVarint();
+
+                stats.add(gameState, winnerSlot, winnerBotLevel, movesCount, durationMillis);
+            }
+        }
+    }
+
+    // Decodes every remaining game. Records are built one chunk at a time.
+    public void forEach(Consumer<GameRecord> consumer) throws IOException {
+        int gamesCount;
+        while((gamesCount = readGamesCount()) != -1) {
+            readColumns(STATES, WINNERS, BOARD_SIZES, BOT_LEVELS, STRATEGIES,
+                    DURATIONS, MOVE_COUNTS, MOVE_CELLS);
+
+            ColumnReader strategies = columns[STRATEGIES];
+            int dictionarySize = (int) strategies.readVarint();
+            String[] dictionary = new String[dictionarySize];
+            for (int i = 0; i < dictionarySize; ++i) {
+                dictionary[i] = strategies.readString();
+            }
+
+            for (int i = 0; i < gamesCount; ++i) {
+                GameState gameState = readGameState(i);
+                int winnerSlot = columns[WINNERS].readByte();
+                int boardSize = (int) columns[BOARD_SIZES].readVarint();
+
+                int[] botLevels = new int[readPlayersCount(i)];
+                for (int slot = 0; slot < botLevels.length; ++slot) {
+                    botLevels[slot] = readBotLevel(i);
+                }
+                checkWinner(gameState, winnerSlot, botLevels.length, i);
+
+                int strategiesCount = (int) strategies.readVarint();
+                List<String> winningStrategies = new ArrayList<>(strategiesCount);
+                for (int j = 0; j < strategiesCount; ++j) {
+                    long id = strategies.readVarint();
+                    if(id < 0 || id >= dictionary.length) {
+                        throw corrupt(i, "unknown strategy id " + id);
+                    }
+                    winningStrategies.add(dictionary[(int) id]);
+                }
+
+                long durationMillis = columns[DURATIONS].readVarint();
+
+                int[] moveCells = new int[(int) columns[MOVE_COUNTS].readVarint()];
+                int previous = 0;
+                for (int j = 0; j < moveCells.length; ++j) {
+                    previous += (int) columns[MOVE_CELLS].readZigZag();
+                    moveCells[j] = previous;
+                }
+
+                consumer.accept(new GameRecord(gameState, winnerSlot, boardSize, botLevels,
+                        winningStrategies, durationMillis, moveCells));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // -1 at the end of the file
+    private int readGamesCount() throws IOException {
+        try {
+            int gamesCount = in.readInt();
+            chunkIndex += 1;
+            return gamesCount;
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    private GameState readGameState(int game) throws IOException {
+        int ordinal = columns[STATES].readByte();
+        if(ordinal < 0 || ordinal >= GAME_STATES.length) {
+            throw corrupt(game, "unknown game state " + ordinal);
+        }
+
+        return GAME_STATES[ordinal];
+    }
+
+    private int readPlayersCount(int game) throws IOException {
+        long playersCount = columns[BOT_LEVELS].readVarint();
+        if(playersCount < Game.MIN_PLAYERS || playersCount > Game.MAX_PLAYERS) {
+            throw corrupt(game, "player count " + playersCount);
+        }
+
+        return (int) playersCount;
+    }
+
+    private int readBotLevel(int game) throws IOException {
+        int botLevel = columns[BOT_LEVELS].readByte() - 1;
+        if(botLevel < GameRecord.HUMAN || botLevel >= BOT_LEVELS_COUNT) {
+            throw corrupt(game, "unknown bot level " + botLevel);
+        }
+
+        return botLevel;
+    }
+
+    // Only a won game has a winner, and it has to be one of its players
+    private void checkWinner(GameState gameState, int winnerSlot, int playersCount, int game)
+            throws IOException {
+        boolean valid = gameState == GameState.WIN
+                ? winnerSlot >= 0 && winnerSlot < playersCount
+                : winnerSlot == GameRecord.NO_WINNER;
+        if(!valid) {
+            throw corrupt(game, "winner slot " + winnerSlot + " for a " + gameState + " game");
+        }
+    }
+
+    private IOException corrupt(int game, String reason) {
+        return new IOException("Corrupt game in chunk " + chunkIndex + " at index " + game + ": " + reason);
+    }
+
+    private void readColumns(int... needed) throws IOException {
+        int next = 0;
+        for (int i = 0; i < COLUMNS_COUNT; ++i) {
+            if(next < needed.length && needed[next] == i) {
+                columns[i].readFrom(in);
+                next += 1;
+            } else {
+                ColumnReader.skip(in);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package analytics;
+
+import models.Game;
+import models.GameState;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Exports finished games to a column-chunked file.
+//
+// export() only snapshots the game and buffers it; every chunkSize games
+// the chunk is encoded and written on a background thread. At most
+// MAX_QUEUED_CHUNKS chunks wait for the writer, after that export() blocks
+// until the disk catches up instead of piling chunks up on the heap.
+// Once a chunk fails to write, export() throws instead of buffering games
+// that would never be written.
+//
+// File layout: MAGIC, VERSION, then chunks until end of stream. A chunk is
+// the number of games followed by these columns, each prefixed with its
+// length in bytes so readers can skip the ones they don't need:
+//   STATES       GameState ordinal, a byte per game
+//   WINNERS      winner slot or -1, a byte per game
+//   BOARD_SIZES  varint per game
+//   BOT_LEVELS   per game a varint player count, then a byte per player
+//                with the BotDifficultyLevel ordinal + 1 (0 for humans)
+//   STRATEGIES   dictionary of strategy names for the chunk, then per game
+//                a varint count and the varint dictionary ids
+//   DURATIONS    varint millis per game
+//   MOVE_COUNTS  varint per game
+//   MOVE_CELLS   per move, zig-zag varint of the delta between its packed
+//                cell (row * size + col) and the previous one of the game
+public class GameExporter implements AutoCloseable {
+    public static final int MAGIC = 0x54545447;
+    public static final int VERSION = 1;
+
+    static final int STATES = 0;
+    static final int WINNERS = 1;
+    static final int BOARD_SIZES = 2;
+    static final int BOT_LEVELS = 3;
+    static final int STRATEGIES = 4;
+    static final int DURATIONS = 5;
+    static final int MOVE_COUNTS = 6;
+    static final int MOVE_CELLS = 7;
+    static final int COLUMNS_COUNT = 8;
+
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+    private static final int MAX_QUEUED_CHUNKS = 4;
+
+    private DataOutputStream out;
+    private int chunkSize;
+    private List<GameRecord> pending;
+    private boolean closed = false;
+    private ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED_CHUNKS), GameExporter::waitForRoom);
+
+    // Only touched from the writer thread
+    private ColumnWriter[] columns = new ColumnWriter[COLUMNS_COUNT];
+    private ColumnWriter strategyIds = new ColumnWriter();
+    private volatile IOException writeException;
+
+    public GameExporter(OutputStream outputStream) throws IOException {
+        this(outputStream, DEFAULT_CHUNK_SIZE);
+    }
+
+    public GameExporter(OutputStream outputStream, int chunkSize) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(outputStream, 1 << 16));
+        this.chunkSize = chunkSize;
+        this.pending = new ArrayList<>(chunkSize);
+
+        for (int i = 0; i < COLUMNS_COUNT; ++i) {
+            columns[i] = new ColumnWriter();
+        }
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    // Snapshots the game on the calling thread, before taking the lock
+    public void export(Game game) throws IOException {
+        if(game.getGameState() == GameState.IN_PROGRESS) {
+            throw new IllegalArgumentException("Only finished games can be exported");
+        }
+
+        export(GameRecord.from(game));
+    }
+
+    // If this throws, the game was not buffered
+    public synchronized void export(GameRecord gameRecord) throws IOException {
+        if(closed) {
+            throw new IllegalStateException("Exporter is closed");
+        }
+        if(writeException != null) {
+            throw new IOException("Export failed, a chunk could not be written", writeException);
+        }
+
+        // A full chunk is handed over before adding, so a failed hand over
+        // leaves this game out and the chunk still pending
+        if(pending.size() == chunkSize) {
+            flushPending();
+        }
+
+        pending.add(gameRecord);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if(closed) {
+            return;
+        }
+        closed = true;
+
+        writer.shutdown();
+        boolean interrupted = awaitWriter();
+
+        // The writer is done, so the last chunk is written from here
+        try {
+            if(writeException == null && !pending.isEmpty()) {
+                writeChunk(pending);
+            }
+        } catch (IOException e) {
+            writeException = e;
+        } finally {
+            pending.clear();
+            out.close();
+
+            if(interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if(writeException != null) {
+            throw writeException;
+        }
+    }
+
+    // Waits even when interrupted, closing the stream under the writer
+    // would leave a corrupt file. Returns whether it was interrupted.
+    private boolean awaitWriter() {
+        boolean interrupted = false;
+        while(true) {
+            try {
+                if(writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+                    return interrupted;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+
+    private void flushPending() throws InterruptedIOException {
+        List<GameRecord> chunk = pending;
+        pending = new ArrayList<>(chunkSize);
+
+        try {
+            writer.execute(() -> writeChunkUnlessFailed(chunk));
+        } catch (RejectedExecutionException e) {
+            // Not queued, keep the chunk
+            pending = chunk;
+            InterruptedIOException interruptedException =
+                    new InterruptedIOException("Interrupted while waiting for the writer");
+            interruptedException.initCause(e);
+            throw interruptedException;
+        }
+    }
+
+    // Runs on the writer thread. After a failure the later chunks are
+    // dropped, export() and close() report it.
+    private void writeChunkUnlessFailed(List<GameRecord> chunk) {
+        if(writeException != null) {
+            return;
+        }
+
+        try {
+            writeChunk(chunk);
+        } catch (IOException e) {
+            writeException = e;
+        }
+    }
+
+    // Called when the queue is full, blocks the exporting thread
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the writer", e);
+        }
+    }
+
+    private void writeChunk(List<GameRecord> chunk) throws IOException {
+        for(ColumnWriter column: columns) {
+            column.reset();
+        }
+
+        strategyIds.reset();
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> dictionaryEntries = new ArrayList<>();
+
+        for(GameRecord gameRecord: chunk) {
+            columns[STATES].writeByte(gameRecord.getGameState().ordinal());
+            columns[WINNERS].writeByte(gameRecord.getWinnerSlot());
+            columns[BOARD_SIZES].writeVarint(gameRecord.getBoardSize());
+
+            int[] botLevels = gameRecord.getBotLevels();
+            columns[BOT_LEVELS].writeVarint(botLevels.length);
+            for(int botLevel: botLevels) {
+                columns[BOT_LEVELS].writeByte(botLevel + 1);
+            }
+
+            List<String> winningStrategies = gameRecord.getWinningStrategies();
+            strategyIds.writeVarint(winningStrategies.size());
+            for(String winningStrategy: winningStrategies) {
+                Integer id = dictionary.get(winningStrategy);
+                if(id == null) {
+                    id = dictionaryEntries.size();
+                    dictionary.put(winningStrategy, id);
+                    dictionaryEntries.add(winningStrategy);
+                }
+                strategyIds.writeVarint(id);
+            }
+
+            columns[DURATIONS].writeVarint(gameRecord.getDurationMillis());
+
+            int[] moveCells = gameRecord.getMoveCells();
+            columns[MOVE_COUNTS].writeVarint(moveCells.length);
+            int previous = 0;
+            for(int moveCell: moveCells) {
+                columns[MOVE_CELLS].writeZigZag(moveCell - previous);
+                previous = moveCell;
+            }
+        }
+
+        columns[STRATEGIES].writeVarint(dictionaryEntries.size());
+        for(String entry: dictionaryEntries) {
+            columns[STRATEGIES].writeString(entry);
+        }
+        columns[STRATEGIES].append(strategyIds);
+
+        out.writeInt(chunk.size());
+        for(ColumnWriter column: columns) {
+            column.writeTo(out);
+        }
+    }
+}
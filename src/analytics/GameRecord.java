@@ -0,0 +1,100 @@
+package analytics;
+
+import models.Bot;
+import models.Cell;
+import models.Game;
+import models.GameState;
+import models.Move;
+import models.Player;
+import strategies.WinningStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Snapshot of a finished game, taken on the game's thread so that it can
+// be encoded later without touching the Game again.
+public class GameRecord {
+    public static final int NO_WINNER = -1;
+    public static final int HUMAN = -1;
+
+    private GameState gameState;
+    private int winnerSlot;
+    private int boardSize;
+    private int[] botLevels; // BotDifficultyLevel ordinal per slot, HUMAN for humans
+    private List<String> winningStrategies;
+    private long durationMillis;
+    private int[] moveCells; // row * boardSize + col, in play order
+
+    public GameRecord(GameState gameState, int winnerSlot, int boardSize, int[] botLevels,
+                      List<String> winningStrategies, long durationMillis, int[] moveCells) {
+        this.gameState = gameState;
+        this.winnerSlot = winnerSlot;
+        this.boardSize = boardSize;
+        this.botLevels = botLevels;
+        this.winningStrategies = winningStrategies;
+        this.durationMillis = durationMillis;
+        this.moveCells = moveCells;
+    }
+
+    public static GameRecord from(Game game) {
+        List<Player> players = game.getPlayers();
+        int[] botLevels = new int[players.size()];
+        for (int i = 0; i < players.size(); ++i) {
+            Player player = players.get(i);
+            if(player instanceof Bot) {
+                botLevels[i] = ((Bot) player).getBotDifficultyLevel().ordinal();
+            } else {
+                botLevels[i] = HUMAN;
+            }
+        }
+
+        List<String> winningStrategies = new ArrayList<>();
+        for(WinningStrategy winningStrategy: game.getWinningStrategies()) {
+            winningStrategies.add(winningStrategy.getClass().getSimpleName());
+        }
+
+        int boardSize = game.getBoard().getSize();
+        List<Move> moves = game.getMoves();
+        int[] moveCells = new int[moves.size()];
+        for (int i = 0; i < moves.size(); ++i) {
+            Cell cell = moves.get(i).getCell();
+            moveCells[i] = cell.getRow() * boardSize + cell.getCol();
+        }
+
+        int winnerSlot = game.getWinner() == null ? NO_WINNER : game.getWinner().getSlot();
+        long endTime = game.getEndTime() == 0 ? System.currentTimeMillis() : game.getEndTime();
+
+        return new GameRecord(game.getGameState(), winnerSlot, boardSize, botLevels,
+                winningStrategies, endTime - game.getStartTime(), moveCells);
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getWinnerSlot() {
+        return winnerSlot;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int[] getBotLevels() {
+        return botLevels;
+    }
+
+    public List<String> getWinningStrategies() {
+        return winningStrategies;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    // Moves always rotate through the slots starting at 0,
+    // so move i was made by slot i % botLevels.length
+    public int[] getMoveCells() {
+        return moveCells;
+    }
+}
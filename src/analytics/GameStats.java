@@ -0,0 +1,78 @@
+package analytics;
+
+import models.BotDifficultyLevel;
+import models.Game;
+import models.GameState;
+
+// Running totals over exported games. Only counters, so it can be fed any
+// number of games.
+public class GameStats {
+    private long games;
+    private long wins;
+    private long draws;
+    private long[] winsBySlot = new long[Game.MAX_PLAYERS];
+    private long humanWins;
+    private long[] winsByBotLevel = new long[BotDifficultyLevel.values().length];
+    private long totalMoves;
+    private long totalDurationMillis;
+
+    public void add(GameState gameState, int winnerSlot, int winnerBotLevel,
+                    long movesCount, long durationMillis) {
+        games += 1;
+        totalMoves += movesCount;
+        totalDurationMillis += durationMillis;
+
+        if(gameState == GameState.DRAW) {
+            draws += 1;
+        } else if(gameState == GameState.WIN) {
+            wins += 1;
+            winsBySlot[winnerSlot] += 1;
+
+            if(winnerBotLevel == GameRecord.HUMAN) {
+                humanWins += 1;
+            } else {
+                winsByBotLevel[winnerBotLevel] += 1;
+            }
+        }
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getWinsBySlot(int slot) {
+        return winsBySlot[slot];
+    }
+
+    public long getHumanWins() {
+        return humanWins;
+    }
+
+    public long getWinsByBotLevel(BotDifficultyLevel botDifficultyLevel) {
+        return winsByBotLevel[botDifficultyLevel.ordinal()];
+    }
+
+    public long getTotalMoves() {
+        return totalMoves;
+    }
+
+    public long getTotalDurationMillis() {
+        return totalDurationMillis;
+    }
+
+    public double getAverageMoves() {
+        return games == 0 ? 0 : (double) totalMoves / games;
+    }
+
+    public double getAverageDurationMillis() {
+        return games == 0 ? 0 : (double) totalDurationMillis / games;
+    }
+}
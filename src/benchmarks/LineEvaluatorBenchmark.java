@@ -0,0 +1,75 @@
+package benchmarks;
+
+import models.Board;
+import models.Cell;
+import models.CellState;
+import models.Player;
+import models.PlayerType;
+import models.Symbol;
+import strategies.LineEvaluator;
+
+import java.util.Random;
+
+// Measures apply + evaluate + undo cycles per second of LineEvaluator.
+// Each player fills its own quadrant, so most lines are still live, as
+// they are in the middle of a real game. A random fill of the whole board
+// kills every line on big boards and only times no-op updates.
+public class LineEvaluatorBenchmark {
+    private static final long DURATION_NANOS = 1_000_000_000L;
+
+    public static void main(String[] args) {
+        int[] sizes = {11, 25, 50, 100};
+
+        for(int size: sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        Random random = new Random(42);
+        Board board = new Board(size);
+        Player[] players = {
+                new Player(1L, "X", new Symbol('X'), PlayerType.HUMAN),
+                new Player(2L, "O", new Symbol('O'), PlayerType.HUMAN)
+        };
+
+        players[1].setSlot(1);
+
+        // X in the top left quadrant, O in the bottom right one
+        int half = size / 2;
+        for (int i = 0; i < 2 * size; ++i) {
+            int offset = (i % 2) * (size - half);
+            Cell cell = board.getBoard()
+                    .get(offset + random.nextInt(half))
+                    .get(offset + random.nextInt(half));
+            if(cell.getCellState().equals(CellState.FILLED)) {
+                continue;
+            }
+
+            cell.setCellState(CellState.FILLED);
+            cell.setPlayer(players[i % 2]);
+            board.markCellFilled(cell.getRow(), cell.getCol());
+        }
+
+        LineEvaluator evaluator = new LineEvaluator(board);
+        int slot = players[0].getSlot();
+        int liveLines = evaluator.getLiveLinesCount();
+
+        long evaluations = 0;
+        long checksum = 0;
+        long start = System.nanoTime();
+        while(System.nanoTime() - start < DURATION_NANOS) {
+            for (int i = 0; i < 1024; ++i) {
+                Cell cell = board.getRandomEmptyCell(random);
+                evaluator.addMove(cell.getRow(), cell.getCol(), slot);
+                checksum += evaluator.evaluate(slot);
+                evaluator.removeMove(cell.getRow(), cell.getCol(), slot);
+            }
+            evaluations += 1024;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("size=%d live lines=%d/%d evaluations/sec=%.0f (checksum %d)%n",
+                size, liveLines, 2 * size + 2, evaluations * 1e9 / elapsed, checksum);
+    }
+}
@@ -0,0 +1,162 @@
+package benchmarks;
+
+import analytics.GameRecord;
+import exceptions.BotCountMoreThanOneException;
+import exceptions.DuplicateSymbolException;
+import exceptions.PlayerCountMismatchException;
+import models.Board;
+import models.Cell;
+import models.Game;
+import models.GameState;
+import models.Move;
+import models.Player;
+import models.PlayerType;
+import models.Symbol;
+import strategies.ColWinningStrategy;
+import strategies.DiagWinningStrategy;
+import strategies.RowWinningStrategy;
+import verifiers.ReplayResult;
+import verifiers.ReplayStatus;
+import verifiers.ReplayVerifier;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Plays random games through Game, then re-verifies them by replaying
+// them through Game again (the object path), with ReplayVerifier one game
+// at a time, and with ReplayVerifier in one batch, where boards up to 5x5
+// share longs. Reports games verified per second for each.
+public class ReplayVerifierBenchmark {
+    private static final int GAMES = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        PrintStream out = System.out;
+        // Game prints every turn
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        int[][] configs = {{3, 2}, {4, 2}, {5, 3}, {8, 2}, {8, 4}, {20, 4}};
+        for(int[] config: configs) {
+            run(config[0], config[1], out);
+        }
+
+        System.setOut(out);
+    }
+
+    private static void run(int size, int playersCount, PrintStream out) throws Exception {
+        Random random = new Random(42);
+        List<GameRecord> gameRecords = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; ++i) {
+            Game game = newGame(size, playersCount, null, random);
+            while(game.getGameState() == GameState.IN_PROGRESS) {
+                game.makeMove();
+            }
+            gameRecords.add(GameRecord.from(game));
+        }
+
+        // Each path runs five times, the first runs are warm up
+        double objectRate = 0;
+        double singleRate = 0;
+        double batchRate = 0;
+        for (int round = 0; round < 5; ++round) {
+            long start = System.nanoTime();
+            int objectValid = 0;
+            for(GameRecord gameRecord: gameRecords) {
+                if(replayThroughGame(gameRecord, playersCount)) {
+                    objectValid += 1;
+                }
+            }
+            objectRate = GAMES * 1e9 / (System.nanoTime() - start);
+
+            ReplayVerifier replayVerifier = new ReplayVerifier();
+            start = System.nanoTime();
+            int singleValid = 0;
+            for(GameRecord gameRecord: gameRecords) {
+                if(replayVerifier.verify(gameRecord).getReplayStatus() == ReplayStatus.VALID) {
+                    singleValid += 1;
+                }
+            }
+            singleRate = GAMES * 1e9 / (System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int batchValid = 0;
+            for(ReplayResult replayResult: replayVerifier.verify(gameRecords)) {
+                if(replayResult.getReplayStatus() == ReplayStatus.VALID) {
+                    batchValid += 1;
+                }
+            }
+            batchRate = GAMES * 1e9 / (System.nanoTime() - start);
+
+            if(objectValid != GAMES || singleValid != GAMES || batchValid != GAMES) {
+                throw new IllegalStateException("Valid games: object path " + objectValid
+                        + ", one by one " + singleValid + ", batch " + batchValid + " of " + GAMES);
+            }
+        }
+
+        out.printf("size=%d players=%d games/sec: object path=%.0f one by one=%.0f batch=%.0f%n",
+                size, playersCount, objectRate, singleRate, batchRate);
+    }
+
+    private static boolean replayThroughGame(GameRecord gameRecord, int playersCount) throws Exception {
+        Game game = newGame(gameRecord.getBoardSize(), playersCount, gameRecord.getMoveCells(), null);
+
+        int[] moveCells = gameRecord.getMoveCells();
+        for (int i = 0; i < moveCells.length; ++i) {
+            if(game.getGameState() != GameState.IN_PROGRESS) {
+                return false;
+            }
+
+            game.makeMove();
+            if(game.getMoves().size() != i + 1) {
+                return false;
+            }
+        }
+
+        int winnerSlot = game.getWinner() == null ? GameRecord.NO_WINNER : game.getWinner().getSlot();
+        return game.getGameState() == gameRecord.getGameState()
+                && winnerSlot == gameRecord.getWinnerSlot();
+    }
+
+    // Random play when moveCells is null, otherwise replays moveCells
+    private static Game newGame(int size, int playersCount, int[] moveCells, Random random)
+            throws BotCountMoreThanOneException, DuplicateSymbolException, PlayerCountMismatchException {
+        int[] nextMove = new int[1];
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playersCount; ++i) {
+            players.add(new ScriptedPlayer((long) i, new Symbol((char) ('A' + i)), moveCells, nextMove, random));
+        }
+
+        return Game.getBuilder()
+                .setPlayers(players)
+                .setSize(size)
+                .addWinningStrategy(new RowWinningStrategy())
+                .addWinningStrategy(new ColWinningStrategy())
+                .addWinningStrategy(new DiagWinningStrategy())
+                .build();
+    }
+
+    private static class ScriptedPlayer extends Player {
+        private int[] moveCells;
+        private int[] nextMove; // shared by the players of a game
+        private Random random;
+
+        ScriptedPlayer(Long id, Symbol symbol, int[] moveCells, int[] nextMove, Random random) {
+            super(id, "P" + id, symbol, PlayerType.HUMAN);
+            this.moveCells = moveCells;
+            this.nextMove = nextMove;
+            this.random = random;
+        }
+
+        @Override
+        public Move makeMove(Board board) {
+            if(moveCells == null) {
+                return new Move(board.getRandomEmptyCell(random), this);
+            }
+
+            int cell = moveCells[nextMove[0]++];
+            return new Move(new Cell(cell / board.getSize(), cell % board.getSize()), this);
+        }
+    }
+}
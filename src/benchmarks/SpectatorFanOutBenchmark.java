@@ -0,0 +1,152 @@
+package benchmarks;
+
+import spectators.BoardSnapshot;
+import spectators.GameEventFeed;
+import spectators.Spectator;
+import spectators.SpectatorSubscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+
+// Fans random moves and undos out to 10k subscriptions of one
+// GameEventFeed. The publisher writes a batch that fits in the ring, then
+// reader threads drain the subscriptions, and so on.
+//
+// The first run drains every subscription after every batch. In the
+// second one, one subscription in ten is only polled every LAG_BATCHES
+// batches, more than the ring holds, so it has to resync from a snapshot.
+// Reports move and undo deliveries per second, and snapshots apart, with
+// how many distinct board copies were made for them.
+public class SpectatorFanOutBenchmark {
+    private static final int SUBSCRIBERS = 10_000;
+    private static final int EVENTS = 40_960;
+    private static final int BATCH = 1024;
+    private static final int CAPACITY = 4096;
+    private static final int LAG_BATCHES = 8; // 8192 events behind
+    private static final int LAGGING_EVERY = 10;
+    private static final int SIZE = 100;
+
+    public static void main(String[] args) throws InterruptedException, BrokenBarrierException {
+        run("in step", false);
+        run("lagging", true);
+    }
+
+    private static void run(String name, boolean lagging) throws InterruptedException, BrokenBarrierException {
+        GameEventFeed gameEventFeed = new GameEventFeed(SIZE, CAPACITY);
+        int readersCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        List<List<SpectatorSubscription>> subscriptionsByReader = new ArrayList<>();
+        for (int i = 0; i < readersCount; ++i) {
+            subscriptionsByReader.add(new ArrayList<>());
+        }
+        for (int i = 0; i < SUBSCRIBERS; ++i) {
+            subscriptionsByReader.get(i % readersCount).add(gameEventFeed.subscribe());
+        }
+
+        int batches = EVENTS / BATCH;
+        CyclicBarrier published = new CyclicBarrier(readersCount + 1);
+        CyclicBarrier drained = new CyclicBarrier(readersCount + 1);
+        CountingSpectator[] spectators = new CountingSpectator[readersCount];
+        Set<BoardSnapshot> boardCopies = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        for (int i = 0; i < readersCount; ++i) {
+            int reader = i;
+            spectators[reader] = new CountingSpectator(boardCopies);
+            Thread thread = new Thread(() -> {
+                List<SpectatorSubscription> subscriptions = subscriptionsByReader.get(reader);
+                try {
+                    for (int batch = 0; batch < batches; ++batch) {
+                        published.await();
+                        boolean lastBatch = batch == batches - 1;
+                        for (int j = 0; j < subscriptions.size(); ++j) {
+                            boolean lags = lagging && j % LAGGING_EVERY == 0;
+                            if(!lags || lastBatch || batch % LAG_BATCHES == LAG_BATCHES - 1) {
+                                subscriptions.get(j).poll(spectators[reader]);
+                            }
+                        }
+                        drained.await();
+                    }
+                } catch (InterruptedException | BrokenBarrierException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Random random = new Random(42);
+        int[] played = new int[EVENTS];
+        int playedCount = 0;
+
+        long start = System.nanoTime();
+        for (int batch = 0; batch < batches; ++batch) {
+            for (int i = 0; i < BATCH; ++i) {
+                if(playedCount > 0 && random.nextInt(4) == 0) {
+                    int cell = played[--playedCount];
+                    gameEventFeed.publishUndo(cell / SIZE, cell % SIZE);
+                } else {
+                    int cell = random.nextInt(SIZE * SIZE);
+                    played[playedCount++] = cell;
+                    gameEventFeed.publishMove(cell / SIZE, cell % SIZE, i % 2);
+                }
+            }
+
+            published.await();
+            drained.await();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long deltas = 0;
+        long snapshots = 0;
+        long resyncs = 0;
+        for (int i = 0; i < readersCount; ++i) {
+            deltas += spectators[i].deltas;
+            snapshots += spectators[i].snapshots;
+
+            for(SpectatorSubscription subscription: subscriptionsByReader.get(i)) {
+                resyncs += subscription.getResyncs();
+            }
+        }
+
+        System.out.printf("%s: subscribers=%d readers=%d events=%d deltas=%d deltas/sec=%.0f"
+                        + " snapshots=%d resyncs=%d board copies=%d%n",
+                name, SUBSCRIBERS, readersCount, batches * BATCH, deltas, deltas * 1e9 / elapsed,
+                snapshots, resyncs, boardCopies.size());
+    }
+
+    private static class CountingSpectator implements Spectator {
+        private Set<BoardSnapshot> boardCopies;
+        private long checksum;
+        private long deltas;
+        private long snapshots;
+
+        CountingSpectator(Set<BoardSnapshot> boardCopies) {
+            this.boardCopies = boardCopies;
+        }
+
+        @Override
+        public void onMove(int row, int col, int slot) {
+            checksum += row + col + slot;
+            deltas += 1;
+        }
+
+        @Override
+        public void onUndo(int row, int col) {
+            checksum -= row + col;
+            deltas += 1;
+        }
+
+        @Override
+        public void onSnapshot(BoardSnapshot boardSnapshot) {
+            checksum += boardSnapshot.getSequence();
+            snapshots += 1;
+            boardCopies.add(boardSnapshot);
+        }
+    }
+}
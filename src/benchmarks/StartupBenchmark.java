@@ -0,0 +1,98 @@
+package benchmarks;
+
+import controllers.GameController;
+import models.Board;
+import models.Bot;
+import models.BotDifficultyLevel;
+import models.Game;
+import models.GameState;
+import models.Move;
+import models.Player;
+import models.PlayerType;
+import models.Symbol;
+import strategies.ColWinningStrategy;
+import strategies.DiagWinningStrategy;
+import strategies.RowWinningStrategy;
+import strategies.WinningStrategy;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Starts a bot game the way a worker would and prints the time from JVM
+// launch to the first move. Pass --launched-at=<epoch millis> to measure
+// from the launcher's clock instead of the process start time, which is
+// only known to the nearest clock tick.
+//
+// With --training it then plays full games with every working bot level,
+// so that running it with -XX:ArchiveClassesAtExit records the classes a
+// game needs (see scripts/build-fast-start.sh).
+public class StartupBenchmark {
+    public static void main(String[] args) throws Exception {
+        long launchedAt = ProcessHandle.current().info().startInstant()
+                .map(Instant::toEpochMilli)
+                .orElse(System.currentTimeMillis());
+        boolean training = false;
+        for(String arg: args) {
+            if(arg.startsWith("--launched-at=")) {
+                launchedAt = Long.parseLong(arg.substring("--launched-at=".length()));
+            } else if(arg.equals("--training")) {
+                training = true;
+            }
+        }
+
+        PrintStream out = System.out;
+        // Game prints every turn
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        GameController gameController = new GameController();
+        Game game = startGame(gameController, BotDifficultyLevel.MEDIUM);
+        gameController.makeMove(game);
+        long timeToFirstMove = System.currentTimeMillis() - launchedAt;
+
+        if(training) {
+            for(BotDifficultyLevel botDifficultyLevel: List.of(BotDifficultyLevel.EASY, BotDifficultyLevel.MEDIUM)) {
+                game = startGame(gameController, botDifficultyLevel);
+                while(gameController.checkState(game) == GameState.IN_PROGRESS) {
+                    gameController.printBoard(game);
+                    gameController.makeMove(game);
+                }
+            }
+        }
+
+        System.setOut(out);
+        System.out.println("time-to-first-move ms=" + timeToFirstMove);
+    }
+
+    // The bot moves first, so its engine is part of the first move
+    private static Game startGame(GameController gameController,
+                                  BotDifficultyLevel botDifficultyLevel) throws Exception {
+        List<Player> players = new ArrayList<>();
+        players.add(new Bot(1L, "Bot", new Symbol('O'), botDifficultyLevel));
+        players.add(new RandomPlayer(2L, new Symbol('X')));
+
+        List<WinningStrategy> winningStrategies = List.of(
+                new RowWinningStrategy(),
+                new ColWinningStrategy(),
+                new DiagWinningStrategy()
+        );
+
+        return gameController.startGame(players, 3, winningStrategies);
+    }
+
+    private static class RandomPlayer extends Player {
+        private Random random = new Random();
+
+        RandomPlayer(Long id, Symbol symbol) {
+            super(id, "Random", symbol, PlayerType.HUMAN);
+        }
+
+        @Override
+        public Move makeMove(Board board) {
+            return new Move(board.getRandomEmptyCell(random), this);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import models.Board;
+import models.Cell;
+import models.Move;
+import models.Player;
+import models.PlayerType;
+import models.Symbol;
+import strategies.ColWinningStrategy;
+import strategies.DiagWinningStrategy;
+import strategies.RowWinningStrategy;
+import strategies.WinningStrategy;
+
+import java.util.List;
+import java.util.Random;
+
+// Measures the per-move cost of the winning strategies (checkWinner,
+// hasLiveLine and handleUndo) for different player counts and board sizes.
+// The cost should stay flat as the player count grows.
+public class WinningStrategyBenchmark {
+    private static final long MOVES_PER_RUN = 4_000_000L;
+
+    public static void main(String[] args) {
+        int[] playerCounts = {2, 4, 8};
+        int[] sizes = {10, 100, 1000};
+
+        for(int size: sizes) {
+            for(int playerCount: playerCounts) {
+                run(size, playerCount);
+            }
+        }
+    }
+
+    private static void run(int size, int playerCount) {
+        Random random = new Random(42);
+        Player[] players = new Player[playerCount];
+        for (int i = 0; i < playerCount; ++i) {
+            players[i] = new Player((long) i, "P" + i, new Symbol((char) ('A' + i)), PlayerType.HUMAN);
+            players[i].setSlot(i);
+        }
+
+        // Same random cells for every player count
+        int movesCount = Math.min(size * size, 200_000);
+        Move[] moves = new Move[movesCount];
+        Board board = new Board(size);
+        for (int i = 0; i < movesCount; ++i) {
+            Cell cell = board.getRandomEmptyCell(random);
+            board.markCellFilled(cell.getRow(), cell.getCol());
+            moves[i] = new Move(cell, players[i % playerCount]);
+        }
+
+        int rounds = (int) Math.max(20, MOVES_PER_RUN / movesCount);
+
+        long checksum = 0;
+        long start = 0;
+        for (int round = 0; round < rounds; ++round) {
+            // First half of the rounds is warm up
+            if(round == rounds / 2) {
+                start = System.nanoTime();
+            }
+
+            List<WinningStrategy> winningStrategies = List.of(
+                    new RowWinningStrategy(),
+                    new ColWinningStrategy(),
+                    new DiagWinningStrategy()
+            );
+
+            for(Move move: moves) {
+                for(WinningStrategy winningStrategy: winningStrategies) {
+                    if(winningStrategy.checkWinner(board, move)) {
+                        checksum += 1;
+                    }
+                    if(winningStrategy.hasLiveLine(board)) {
+                        checksum += 1;
+                    }
+                }
+            }
+
+            for (int i = movesCount - 1; i >= 0; --i) {
+                for(WinningStrategy winningStrategy: winningStrategies) {
+                    winningStrategy.handleUndo(board, moves[i]);
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("size=%d players=%d ns/move=%.1f (checksum %d)%n",
+                size, playerCount, (double) elapsed / ((long) movesCount * (rounds - rounds / 2)), checksum);
+    }
+}
@@ -1,16 +1,29 @@
 package controllers;
 
+import analytics.GameExporter;
 import exceptions.BotCountMoreThanOneException;
 import exceptions.DuplicateSymbolException;
 import exceptions.PlayerCountMismatchException;
 import models.Game;
 import models.GameState;
 import models.Player;
+import renderers.BoardRenderer;
+import spectators.SpectatorSubscription;
 import strategies.WinningStrategy;
 
+import java.io.IOException;
 import java.util.List;
 
 public class GameController {
+    private BoardRenderer boardRenderer;
+
+    // The renderer is created on the first printBoard
+    public GameController() {
+    }
+
+    public GameController(BoardRenderer boardRenderer) {
+        this.boardRenderer = boardRenderer;
+    }
 
     public Game startGame(List<Player> players,
                           int boardDimensions,
@@ -35,10 +48,22 @@ public class GameController {
     }
 
     public void printBoard(Game game) {
-        game.printBoard();
+        if(boardRenderer == null) {
+            boardRenderer = new BoardRenderer(System.out);
+        }
+
+        boardRenderer.render(game.getBoard(), game.getMoves());
     }
 
     public void undo(Game game) {
         game.undo();
     }
+
+    public SpectatorSubscription addSpectator(Game game) {
+        return game.getEventFeed().subscribe();
+    }
+
+    public void exportGame(Game game, GameExporter gameExporter) throws IOException {
+        gameExporter.export(game);
+    }
 }
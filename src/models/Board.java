@@ -2,11 +2,20 @@ package models;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class Board {
     private int size;
     private List<List<Cell>> board;
 
+    // Index of empty cells. emptyCells holds row * size + col for every
+    // empty cell in its first emptyCellsCount slots, and emptyCellPositions
+    // maps that packed value back to its slot (-1 once filled), so filling
+    // and emptying a cell is a swap-remove / append.
+    private int[] emptyCells;
+    private int[] emptyCellPositions;
+    private int emptyCellsCount;
+
     public Board(int size) {
         this.size = size;
         board = new ArrayList<>(); // []
@@ -18,6 +27,14 @@ public class Board {
                 board.get(i).add(new Cell(i, j));
             }
         }
+
+        emptyCells = new int[size * size];
+        emptyCellPositions = new int[size * size];
+        for (int i = 0; i < size * size; ++i) {
+            emptyCells[i] = i;
+            emptyCellPositions[i] = i;
+        }
+        emptyCellsCount = size * size;
     }
 
     public int getSize() {
@@ -36,12 +53,49 @@ public class Board {
         this.board = board;
     }
 
-    public void printBoard() {
-        for(List<Cell> row: board) {
-            for(Cell cell: row) {
-                cell.display();
-            }
-            System.out.println();
+    public int getEmptyCellsCount() {
+        return emptyCellsCount;
+    }
+
+    // Empty cells are kept in no particular order, index should be
+    // in [0, getEmptyCellsCount())
+    public Cell getEmptyCell(int index) {
+        int packed = emptyCells[index];
+        return board.get(packed / size).get(packed % size);
+    }
+
+    public Cell getRandomEmptyCell(Random random) {
+        if(emptyCellsCount == 0) {
+            return null;
+        }
+
+        return getEmptyCell(random.nextInt(emptyCellsCount));
+    }
+
+    public void markCellFilled(int row, int col) {
+        int packed = row * size + col;
+        int position = emptyCellPositions[packed];
+        if(position == -1) {
+            return;
         }
+
+        // Move the last empty cell into the freed slot
+        int last = emptyCells[emptyCellsCount - 1];
+        emptyCells[position] = last;
+        emptyCellPositions[last] = position;
+
+        emptyCellPositions[packed] = -1;
+        emptyCellsCount -= 1;
+    }
+
+    public void markCellEmpty(int row, int col) {
+        int packed = row * size + col;
+        if(emptyCellPositions[packed] != -1) {
+            return;
+        }
+
+        emptyCells[emptyCellsCount] = packed;
+        emptyCellPositions[packed] = emptyCellsCount;
+        emptyCellsCount += 1;
     }
 }
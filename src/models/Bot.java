@@ -5,6 +5,7 @@ import strategies.BotPlayingStrategyFactory;
 import strategies.EasyBotPlayingStrategy;
 
 import javax.print.attribute.HashDocAttributeSet;
+import java.util.List;
 
 public class Bot extends Player {
     private BotDifficultyLevel botDifficultyLevel;
@@ -13,8 +14,6 @@ public class Bot extends Player {
                BotDifficultyLevel botDifficultyLevel) {
         super(id, name, symbol, PlayerType.BOT);
         this.botDifficultyLevel = botDifficultyLevel;
-        this.botPlayingStrategy = BotPlayingStrategyFactory
-                .getBotPlayingStrategy(botDifficultyLevel);
     }
 
     public BotDifficultyLevel getBotDifficultyLevel() {
@@ -23,15 +22,24 @@ public class Bot extends Player {
 
     public void setBotDifficultyLevel(BotDifficultyLevel botDifficultyLevel) {
         this.botDifficultyLevel = botDifficultyLevel;
+        this.botPlayingStrategy = null;
     }
 
+    // Without the moves, bots that follow the game rescan the board
     @Override
     public Move makeMove(Board board) {
-        // TODO: make the makeMove method in strategy accept player instead of
-        // setting it here
-        Move move = botPlayingStrategy.makeMove(board);
-        move.setPlayer(this);
+        return makeMove(board, null);
+    }
+
+    @Override
+    public Move makeMove(Board board, List<Move> moves) {
+        // Built on the first move so that starting a game doesn't pay
+        // for bot engines that may never play
+        if(botPlayingStrategy == null) {
+            botPlayingStrategy = BotPlayingStrategyFactory
+                    .getBotPlayingStrategy(botDifficultyLevel);
+        }
 
-        return move;
+        return botPlayingStrategy.makeMove(board, this, moves);
     }
 }
@@ -42,12 +42,4 @@ public class Cell {
     public void setPlayer(Player player) {
         this.player = player;
     }
-
-    public void display() {
-        if(player == null) {
-            System.out.print("| - |");
-        } else {
-            System.out.print("| " + player.getSymbol().getaChar() + " |");
-        }
-    }
 }
@@ -3,6 +3,7 @@ package models;
 import exceptions.BotCountMoreThanOneException;
 import exceptions.DuplicateSymbolException;
 import exceptions.PlayerCountMismatchException;
+import spectators.GameEventFeed;
 import strategies.WinningStrategy;
 
 import java.util.ArrayList;
@@ -11,6 +12,9 @@ import java.util.List;
 import java.util.Map;
 
 public class Game {
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 8;
+
     private List<Player> players;
     private Board board;
     private List<Move> moves;
@@ -18,6 +22,18 @@ public class Game {
     private GameState gameState;
     private int nextMovePlayerIndex;
     private List<WinningStrategy> winningStrategies;
+    private long startTime;
+    private long endTime;
+
+    // Created by the first getEventFeed, from any thread, so games nobody
+    // watches neither allocate a feed nor lock one per move. The game
+    // thread bumps boardVersion after every board change and then reads
+    // eventFeed; getEventFeed sets eventFeed and then reads boardVersion
+    // before seeding the feed from the board. With both volatile, either
+    // the change is published to the feed or the seeding sees it.
+    private volatile GameEventFeed eventFeed;
+    private volatile int boardVersion;
+    private final Object eventFeedLock = new Object();
 
     private Game(List<Player> players,
                 int dimensions,
@@ -27,6 +43,12 @@ public class Game {
         this.board = new Board(dimensions);
         this.moves = new ArrayList<>();
         this.gameState = GameState.IN_PROGRESS;
+        this.startTime = System.currentTimeMillis();
+
+        // Strategies keep their counters in arrays indexed by slot
+        for (int i = 0; i < players.size(); ++i) {
+            players.get(i).setSlot(i);
+        }
     }
 
     public static class Builder {
@@ -66,7 +88,7 @@ public class Game {
 
         // TODO: Move the validation logic to another class
         public void validatePlayersCount() throws PlayerCountMismatchException {
-            if(players.size() != size - 1) {
+            if(players.size() < MIN_PLAYERS || players.size() > MAX_PLAYERS) {
                 throw new PlayerCountMismatchException();
             }
         }
@@ -170,13 +192,46 @@ public class Game {
         this.winningStrategies = winningStrategies;
     }
 
+    public GameEventFeed getEventFeed() {
+        GameEventFeed feed = eventFeed;
+        if(feed != null) {
+            return feed;
+        }
+
+        synchronized (eventFeedLock) {
+            if(eventFeed == null) {
+                feed = new GameEventFeed(board.getSize());
+
+                // Holding the feed's monitor keeps publishers and snapshots
+                // out until it is seeded
+                synchronized (feed) {
+                    eventFeed = feed;
+                    // Only read for its ordering, see eventFeed
+                    int seenVersion = boardVersion;
+                    feed.seed(board);
+                }
+            }
+
+            return eventFeed;
+        }
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    // 0 while the game is in progress
+    public long getEndTime() {
+        return endTime;
+    }
+
     public void makeMove() {
         Player currentMovePlayer = players.get(nextMovePlayerIndex);
 
         System.out.println("It is " + currentMovePlayer.getName() +
                 " turn. Please make your move");
 
-        Move move = currentMovePlayer.makeMove(board);
+        Move move = currentMovePlayer.makeMove(board, moves);
 
         if(!validateMove(move)) {
             System.out.println("Invalid move. Please try again.");
@@ -189,24 +244,39 @@ public class Game {
         Cell cellToUpdate = board.getBoard().get(row).get(col);
         cellToUpdate.setCellState(CellState.FILLED);
         cellToUpdate.setPlayer(currentMovePlayer);
+        board.markCellFilled(row, col);
 
         Move finalMove = new Move(cellToUpdate, currentMovePlayer);
         moves.add(finalMove);
+        boardVersion += 1;
+        GameEventFeed feed = eventFeed;
+        if(feed != null) {
+            feed.publishMove(row, col, currentMovePlayer.getSlot());
+        }
 
         nextMovePlayerIndex += 1;
-        nextMovePlayerIndex %= players.size();
+        if(nextMovePlayerIndex == players.size()) {
+            nextMovePlayerIndex = 0;
+        }
 
         if(checkWinner(move)) {
             gameState = GameState.WIN;
             winner = currentMovePlayer;
-        } else if(moves.size() == board.getSize() * board.getSize()) {
+            endTime = System.currentTimeMillis();
+        } else if(board.getEmptyCellsCount() == 0 || !hasLiveLine()) {
             gameState = GameState.DRAW;
+            endTime = System.currentTimeMillis();
         }
     }
 
-    private boolean checkWinner(Move move) {
+    private boolean hasLiveLine() {
+        // Without any strategy nobody can win, let the board fill up
+        if(winningStrategies.isEmpty()) {
+            return true;
+        }
+
         for(WinningStrategy winningStrategy: winningStrategies) {
-            if(winningStrategy.checkWinner(board, move)) {
+            if(winningStrategy.hasLiveLine(board)) {
                 return true;
             }
         }
@@ -214,6 +284,19 @@ public class Game {
         return false;
     }
 
+    private boolean checkWinner(Move move) {
+        // Every strategy has to see the move so that its counts stay
+        // in sync with handleUndo
+        boolean hasWinner = false;
+        for(WinningStrategy winningStrategy: winningStrategies) {
+            if(winningStrategy.checkWinner(board, move)) {
+                hasWinner = true;
+            }
+        }
+
+        return hasWinner;
+    }
+
     private boolean validateMove(Move move) {
         int row = move.getCell().getRow();
         int col = move.getCell().getCol();
@@ -233,10 +316,6 @@ public class Game {
         return false;
     }
 
-    public void printBoard() {
-        board.printBoard();
-    }
-
     public void undo() {
         if(moves.size() == 0) {
             System.out.println("Board is empty. Cannot undo.");
@@ -249,8 +328,20 @@ public class Game {
         Cell cell = lastMove.getCell();
         cell.setCellState(CellState.EMPTY);
         cell.setPlayer(null);
+        board.markCellEmpty(cell.getRow(), cell.getCol());
+        boardVersion += 1;
+        GameEventFeed feed = eventFeed;
+        if(feed != null) {
+            feed.publishUndo(cell.getRow(), cell.getCol());
+        }
 
+        for(WinningStrategy winningStrategy: winningStrategies) {
+            winningStrategy.handleUndo(board, lastMove);
+        }
+
+        if(nextMovePlayerIndex == 0) {
+            nextMovePlayerIndex = players.size();
+        }
         nextMovePlayerIndex -= 1;
-        nextMovePlayerIndex = (nextMovePlayerIndex + players.size()) % players.size();
     }
 }
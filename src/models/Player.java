@@ -1,5 +1,6 @@
 package models;
 
+import java.util.List;
 import java.util.Scanner;
 
 public class Player {
@@ -8,6 +9,7 @@ public class Player {
     private Long id;
     private PlayerType playerType;
     private Scanner scanner;
+    private int slot;
 
     // TODO: Write ID generation logic
     public Player(Long id, String name, Symbol symbol, PlayerType type) {
@@ -50,6 +52,20 @@ public class Player {
         this.playerType = playerType;
     }
 
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    // Called by Game with the moves played so far, oldest first. Bots that
+    // follow the game use them, everyone else only needs the board.
+    public Move makeMove(Board board, List<Move> moves) {
+        return makeMove(board);
+    }
+
     public Move makeMove(Board board) {
         System.out.println("Please give the row where you want to " +
                 "make the move (0 based index)");
@@ -0,0 +1,228 @@
+package renderers;
+
+import models.Board;
+import models.Cell;
+import models.Move;
+import models.Player;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+// Draws boards to a stream. Each frame is built in one reused buffer and
+// written with a single print + flush instead of a print per cell.
+//
+// ANSI_DIFF saves the cursor right below the board and moves relative to
+// it, so it only works while nothing scrolls: rows must not wrap and the
+// board plus PROMPT_LINES must fit on the screen. Boards that don't fit
+// the terminal are drawn as in FULL mode. The terminal size comes from
+// COLUMNS and LINES when the shell exports them.
+//
+// Given the game's moves, diff frames only look at the cells of the moves
+// played or undone since the last frame instead of rescanning the board.
+public class BoardRenderer {
+    private static final char EMPTY = '-';
+    private static final int CELL_WIDTH = 5; // "| X |"
+
+    // Room left under the board for the prompts printed between frames
+    private static final int PROMPT_LINES = 8;
+    private static final int DEFAULT_TERMINAL_COLUMNS = 80;
+    private static final int DEFAULT_TERMINAL_ROWS = 24;
+
+    private PrintStream out;
+    private RenderMode renderMode;
+    private int terminalColumns;
+    private int terminalRows;
+    private StringBuilder frame = new StringBuilder();
+
+    // What was drawn last time, row * size + col, to find changed cells
+    private Board lastBoard;
+    private char[] lastSymbols;
+
+    // Moves drawn so far, null when the last frame was drawn without them
+    private Move[] drawnMoves;
+    private int drawnCount;
+
+    public BoardRenderer(PrintStream out) {
+        this(out, RenderMode.FULL);
+    }
+
+    public BoardRenderer(PrintStream out, RenderMode renderMode) {
+        this(out, renderMode, getTerminalSize("COLUMNS", DEFAULT_TERMINAL_COLUMNS),
+                getTerminalSize("LINES", DEFAULT_TERMINAL_ROWS));
+    }
+
+    public BoardRenderer(PrintStream out, RenderMode renderMode,
+                         int terminalColumns, int terminalRows) {
+        this.out = out;
+        this.renderMode = renderMode;
+        this.terminalColumns = terminalColumns;
+        this.terminalRows = terminalRows;
+    }
+
+    // Compares every cell with the last frame
+    public void render(Board board) {
+        render(board, null);
+    }
+
+    // moves are the game's moves, oldest first
+    public void render(Board board, List<Move> moves) {
+        frame.setLength(0);
+
+        RenderMode mode = renderMode;
+        if(mode == RenderMode.ANSI_DIFF && !fitsOnScreen(board)) {
+            mode = RenderMode.FULL;
+        }
+
+        if(mode == RenderMode.FULL || !isSameBoard(board)) {
+            appendFullFrame(board, mode);
+            rememberMoves(moves);
+        } else {
+            if(moves == null || drawnMoves == null) {
+                appendChanges(board, mode);
+                rememberMoves(moves);
+            } else {
+                appendMoveChanges(moves, mode);
+            }
+
+            // Back below the board and erase the prompts of the last turn
+            if(mode == RenderMode.ANSI_DIFF) {
+                frame.append("\033[u\033[J");
+            }
+        }
+
+        out.append(frame);
+        out.flush();
+    }
+
+    private static int getTerminalSize(String variable, int defaultSize) {
+        try {
+            String value = System.getenv(variable);
+            return value == null ? defaultSize : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultSize;
+        }
+    }
+
+    private boolean isSameBoard(Board board) {
+        return board == lastBoard
+                && lastSymbols.length == board.getSize() * board.getSize();
+    }
+
+    private boolean fitsOnScreen(Board board) {
+        return board.getSize() * CELL_WIDTH <= terminalColumns
+                && board.getSize() + PROMPT_LINES <= terminalRows;
+    }
+
+    private void appendFullFrame(Board board, RenderMode mode) {
+        int size = board.getSize();
+        lastBoard = board;
+        if(lastSymbols == null || lastSymbols.length != size * size) {
+            lastSymbols = new char[size * size];
+        }
+
+        // Draw from the top left corner so nothing scrolls afterwards
+        if(mode == RenderMode.ANSI_DIFF) {
+            frame.append("\033[H\033[2J");
+        }
+
+        frame.ensureCapacity(size * (size * CELL_WIDTH + 1));
+        List<List<Cell>> cells = board.getBoard();
+        for (int i = 0; i < size; ++i) {
+            List<Cell> row = cells.get(i);
+            for (int j = 0; j < size; ++j) {
+                char symbol = getSymbol(row.get(j));
+                lastSymbols[i * size + j] = symbol;
+
+                frame.append("| ").append(symbol).append(" |");
+            }
+            frame.append('\n');
+        }
+
+        // Remember where the board ends, diffs move relative to it
+        if(mode == RenderMode.ANSI_DIFF) {
+            frame.append("\033[s");
+        }
+    }
+
+    private void appendChanges(Board board, RenderMode mode) {
+        for(List<Cell> row: board.getBoard()) {
+            for(Cell cell: row) {
+                appendIfChanged(cell, mode);
+            }
+        }
+    }
+
+    // Only the cells of the moves undone since the last frame, then of the
+    // new ones. A move is undone when it is no longer at its place in the
+    // list; Game creates a new Move for every move.
+    private void appendMoveChanges(List<Move> moves, RenderMode mode) {
+        while(drawnCount > 0 && (drawnCount > moves.size()
+                || drawnMoves[drawnCount - 1] != moves.get(drawnCount - 1))) {
+            drawnCount -= 1;
+            appendIfChanged(drawnMoves[drawnCount].getCell(), mode);
+            drawnMoves[drawnCount] = null;
+        }
+
+        for (; drawnCount < moves.size(); ++drawnCount) {
+            Move move = moves.get(drawnCount);
+            drawnMoves = growIfFull(drawnMoves, drawnCount);
+            drawnMoves[drawnCount] = move;
+            appendIfChanged(move.getCell(), mode);
+        }
+    }
+
+    private void appendIfChanged(Cell cell, RenderMode mode) {
+        int size = lastBoard.getSize();
+        int i = cell.getRow();
+        int j = cell.getCol();
+
+        char symbol = getSymbol(cell);
+        if(symbol == lastSymbols[i * size + j]) {
+            return;
+        }
+
+        lastSymbols[i * size + j] = symbol;
+
+        if(mode == RenderMode.ANSI_DIFF) {
+            // Back to below the board, up to the row, then to the
+            // symbol, which is the 3rd char of its cell (1 based)
+            frame.append("\033[u\033[").append(size - i).append('A')
+                    .append("\033[").append(j * CELL_WIDTH + 3).append('G')
+                    .append(symbol);
+        } else {
+            frame.append(i).append(' ').append(j).append(' ').append(symbol).append('\n');
+        }
+    }
+
+    private void rememberMoves(List<Move> moves) {
+        if(moves == null) {
+            drawnMoves = null;
+            drawnCount = 0;
+            return;
+        }
+
+        drawnMoves = new Move[Math.max(16, moves.size())];
+        drawnCount = 0;
+        for(Move move: moves) {
+            drawnMoves[drawnCount++] = move;
+        }
+    }
+
+    private static Move[] growIfFull(Move[] moves, int count) {
+        if(count < moves.length) {
+            return moves;
+        }
+
+        return Arrays.copyOf(moves, moves.length * 2);
+    }
+
+    private char getSymbol(Cell cell) {
+        Player player = cell.getPlayer();
+        if(player == null) {
+            return EMPTY;
+        }
+
+        return player.getSymbol().getaChar();
+    }
+}
@@ -0,0 +1,15 @@
+package renderers;
+
+public enum RenderMode {
+    // Whole board every time
+    FULL,
+    // Whole board once, then ANSI cursor moves to redraw changed cells only.
+    // Needs the board and the prompts under it to fit on the screen, falls
+    // back to FULL otherwise (see BoardRenderer). A board takes 5 columns
+    // per cell, so on an 80 column terminal that is up to 16x16.
+    ANSI_DIFF,
+    // Whole board once, then a "row col symbol" line per changed cell. The
+    // only mode that stays cheap on boards too big for the screen, like
+    // 100x100.
+    DELTA
+}
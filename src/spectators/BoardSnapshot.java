@@ -0,0 +1,30 @@
+package spectators;
+
+// Compact copy of a board: one byte per cell holding the player slot + 1,
+// 0 for empty cells. Shared by every subscription that resyncs at the same
+// point, so it is never modified.
+public class BoardSnapshot {
+    private final int size;
+    private final byte[] cells;
+    private final long sequence;
+
+    public BoardSnapshot(int size, byte[] cells, long sequence) {
+        this.size = size;
+        this.cells = cells;
+        this.sequence = sequence;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // -1 for an empty cell
+    public int getSlot(int row, int col) {
+        return cells[row * size + col] - 1;
+    }
+
+    // Number of events published before this snapshot was taken
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,137 @@
+package spectators;
+
+import models.Board;
+import models.Cell;
+import models.Player;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
+// Publishes every move and undo of a game once, as a packed long in a ring
+// buffer shared by all subscriptions. Each subscription only keeps its own
+// read sequence, so adding spectators costs nothing on the publishing side.
+// A subscription that falls more than the buffer capacity behind resyncs
+// from a snapshot of the board. Snapshots are shared: the board is copied
+// at most once per published event, however many subscriptions resync.
+public class GameEventFeed {
+    private static final int DEFAULT_CAPACITY = 1 << 12;
+
+    static final long MOVE = 0;
+    static final long UNDO = 1;
+
+    private long[] events;
+    private int mask;
+
+    // Sequence of the last slot being written, and number of events
+    // fully published. Readers use both to detect overwritten slots.
+    private volatile long claimed = 0;
+    private volatile long cursor = 0;
+
+    // Mirror of the board, only for snapshots
+    private int size;
+    private byte[] cells;
+
+    // Last snapshot taken, reused while no event was published since
+    private volatile BoardSnapshot latestSnapshot;
+
+    public GameEventFeed(int size) {
+        this(size, DEFAULT_CAPACITY);
+    }
+
+    // capacity has to be a power of two
+    public GameEventFeed(int size, int capacity) {
+        this.size = size;
+        this.cells = new byte[size * size];
+        this.events = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    // Copies the filled cells of the board into the mirror. Only for a feed
+    // created after the game started, before anything is published.
+    public synchronized void seed(Board board) {
+        for(List<Cell> row: board.getBoard()) {
+            for(Cell cell: row) {
+                Player player = cell.getPlayer();
+                cells[cell.getRow() * size + cell.getCol()] = player == null ? 0 : (byte) (player.getSlot() + 1);
+            }
+        }
+    }
+
+    public synchronized void publishMove(int row, int col, int slot) {
+        cells[row * size + col] = (byte) (slot + 1);
+        publish(pack(MOVE, row, col, slot));
+    }
+
+    public synchronized void publishUndo(int row, int col) {
+        cells[row * size + col] = 0;
+        publish(pack(UNDO, row, col, 0));
+    }
+
+    public BoardSnapshot snapshot() {
+        BoardSnapshot boardSnapshot = latestSnapshot;
+        if(boardSnapshot != null && boardSnapshot.getSequence() == cursor) {
+            return boardSnapshot;
+        }
+
+        synchronized (this) {
+            boardSnapshot = latestSnapshot;
+            if(boardSnapshot == null || boardSnapshot.getSequence() != cursor) {
+                boardSnapshot = new BoardSnapshot(size, cells.clone(), cursor);
+                latestSnapshot = boardSnapshot;
+            }
+
+            return boardSnapshot;
+        }
+    }
+
+    public SpectatorSubscription subscribe() {
+        return new SpectatorSubscription(this);
+    }
+
+    int getCapacity() {
+        return events.length;
+    }
+
+    long getCursor() {
+        return cursor;
+    }
+
+    long getClaimed() {
+        return claimed;
+    }
+
+    long getEvent(long sequence) {
+        return events[(int) sequence & mask];
+    }
+
+    static long getType(long event) {
+        return event >>> 62;
+    }
+
+    static int getSlot(long event) {
+        return (int) (event >>> 56) & 0x3F;
+    }
+
+    static int getRow(long event) {
+        return (int) (event >>> 28) & 0xFFFFFFF;
+    }
+
+    static int getCol(long event) {
+        return (int) event & 0xFFFFFFF;
+    }
+
+    private void publish(long event) {
+        long sequence = cursor;
+
+        // Readers must see the claim before the slot changes
+        claimed = sequence + 1;
+        VarHandle.storeStoreFence();
+
+        events[(int) sequence & mask] = event;
+        cursor = sequence + 1;
+    }
+
+    private static long pack(long type, int row, int col, int slot) {
+        return type << 62 | (long) slot << 56 | (long) row << 28 | col;
+    }
+}
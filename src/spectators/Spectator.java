@@ -0,0 +1,10 @@
+package spectators;
+
+public interface Spectator {
+    public void onMove(int row, int col, int slot);
+
+    public void onUndo(int row, int col);
+
+    // Sent first, and again whenever the spectator fell too far behind
+    public void onSnapshot(BoardSnapshot boardSnapshot);
+}
@@ -0,0 +1,66 @@
+package spectators;
+
+import java.lang.invoke.VarHandle;
+
+// Read position of one spectator in a GameEventFeed. Not thread safe,
+// each subscription should be polled by one thread at a time.
+public class SpectatorSubscription {
+    private GameEventFeed gameEventFeed;
+    private long sequence;
+    private boolean needsSnapshot = true;
+    private long resyncs = 0;
+
+    SpectatorSubscription(GameEventFeed gameEventFeed) {
+        this.gameEventFeed = gameEventFeed;
+    }
+
+    // Delivers every event published since the last poll and returns
+    // how many were delivered. A snapshot counts as one event.
+    public int poll(Spectator spectator) {
+        int delivered = 0;
+
+        if(needsSnapshot) {
+            delivered += resync(spectator);
+        }
+
+        long available = gameEventFeed.getCursor();
+        int capacity = gameEventFeed.getCapacity();
+
+        while(sequence < available) {
+            long event = gameEventFeed.getEvent(sequence);
+
+            // The slot may have been reused while we were reading it
+            VarHandle.loadLoadFence();
+            if(gameEventFeed.getClaimed() - sequence > capacity) {
+                resyncs += 1;
+                return delivered + resync(spectator);
+            }
+
+            if(GameEventFeed.getType(event) == GameEventFeed.MOVE) {
+                spectator.onMove(GameEventFeed.getRow(event), GameEventFeed.getCol(event),
+                        GameEventFeed.getSlot(event));
+            } else {
+                spectator.onUndo(GameEventFeed.getRow(event), GameEventFeed.getCol(event));
+            }
+
+            sequence += 1;
+            delivered += 1;
+        }
+
+        return delivered;
+    }
+
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    private int resync(Spectator spectator) {
+        BoardSnapshot boardSnapshot = gameEventFeed.snapshot();
+        spectator.onSnapshot(boardSnapshot);
+
+        sequence = boardSnapshot.getSequence();
+        needsSnapshot = false;
+
+        return 1;
+    }
+}
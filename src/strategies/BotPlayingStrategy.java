@@ -2,7 +2,11 @@ package strategies;
 
 import models.Board;
 import models.Move;
+import models.Player;
+
+import java.util.List;
 
 public interface BotPlayingStrategy {
-    public Move makeMove(Board board);
+    // moves are the moves played so far, null when they aren't known
+    public Move makeMove(Board board, Player player, List<Move> moves);
 }
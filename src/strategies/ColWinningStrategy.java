@@ -1,36 +1,57 @@
 package strategies;
 
 import models.Board;
+import models.Game;
 import models.Move;
-import models.Symbol;
-
-import java.util.HashMap;
-import java.util.Map;
 
 public class ColWinningStrategy implements WinningStrategy {
-    private Map<Integer, Map<Symbol, Integer>> counts = new HashMap<>();
+    // counts[col][slot] is how many cells of the col that player holds
+    private short[][] counts;
+    private byte[] distinctPlayers;
+    private int deadCols = 0;
 
     @Override
     public boolean checkWinner(Board board, Move move) {
+        if(counts == null) {
+            counts = new short[board.getSize()][Game.MAX_PLAYERS];
+            distinctPlayers = new byte[board.getSize()];
+        }
+
         int col = move.getCell().getCol();
-        Symbol symbol = move.getPlayer().getSymbol();
+        int slot = move.getPlayer().getSlot();
 
-        if(!counts.containsKey(col)) {
-            counts.put(col, new HashMap<>());
+        if(counts[col][slot] == 0) {
+            distinctPlayers[col] += 1;
+
+            // Second player in this col, it can't be won anymore
+            if(distinctPlayers[col] == 2) {
+                deadCols += 1;
+            }
         }
 
-        Map<Symbol, Integer> colMap = counts.get(col);
-        colMap.put(symbol, colMap.getOrDefault(symbol, 0) + 1);
+        counts[col][slot] += 1;
 
-        return colMap.get(symbol) == board.getSize();
+        return counts[col][slot] == board.getSize();
     }
 
     @Override
     public void handleUndo(Board board, Move move) {
         int col = move.getCell().getCol();
-        Symbol symbol = move.getPlayer().getSymbol();
+        int slot = move.getPlayer().getSlot();
+
+        counts[col][slot] -= 1;
 
-        Map<Symbol, Integer> colMap = counts.get(col);
-        colMap.put(symbol, colMap.get(symbol) - 1);
+        if(counts[col][slot] == 0) {
+            distinctPlayers[col] -= 1;
+
+            if(distinctPlayers[col] == 1) {
+                deadCols -= 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasLiveLine(Board board) {
+        return deadCols < board.getSize();
     }
 }
@@ -1,65 +1,77 @@
 package strategies;
 
 import models.Board;
+import models.Game;
 import models.Move;
-import models.Symbol;
-
-import java.util.HashMap;
-import java.util.Map;
 
 public class DiagWinningStrategy implements WinningStrategy {
-    private Map<Symbol, Integer> leftDiagMap = new HashMap<>();
-    private Map<Symbol, Integer> rightDiagMap = new HashMap<>();
+    // Indexed by player slot
+    private short[] leftDiagCounts = new short[Game.MAX_PLAYERS];
+    private short[] rightDiagCounts = new short[Game.MAX_PLAYERS];
+    private int leftDiagPlayers = 0;
+    private int rightDiagPlayers = 0;
 
     @Override
     public boolean checkWinner(Board board, Move move) {
-        Symbol symbol = move.getPlayer().getSymbol();
+        int slot = move.getPlayer().getSlot();
         int row = move.getCell().getRow();
         int col = move.getCell().getCol();
 
-        // Check the logic once.
+        boolean hasWon = false;
+
         // Left diag check
         if(row == col) {
-            leftDiagMap.put(symbol,
-                    leftDiagMap.getOrDefault(symbol, 0) + 1);
+            if(leftDiagCounts[slot] == 0) {
+                leftDiagPlayers += 1;
+            }
+
+            leftDiagCounts[slot] += 1;
+            if(leftDiagCounts[slot] == board.getSize()) {
+                hasWon = true;
+            }
         }
 
         // Right Diag check
         if(row + col == board.getSize() - 1) {
-            rightDiagMap.put(symbol,
-                    rightDiagMap.getOrDefault(symbol, 0) + 1);
-
-        }
-
-        if(row == col) {
-            if(leftDiagMap.get(symbol) == board.getSize()) {
-                return true;
+            if(rightDiagCounts[slot] == 0) {
+                rightDiagPlayers += 1;
             }
-        }
 
-        if(row + col == board.getSize() - 1) {
-            if(rightDiagMap.get(symbol) == board.getSize()) {
-                return true;
+            rightDiagCounts[slot] += 1;
+            if(rightDiagCounts[slot] == board.getSize()) {
+                hasWon = true;
             }
         }
 
-        return false;
+        return hasWon;
     }
 
     @Override
     public void handleUndo(Board board, Move move) {
-        Symbol symbol = move.getPlayer().getSymbol();
+        int slot = move.getPlayer().getSlot();
         int row = move.getCell().getRow();
         int col = move.getCell().getCol();
 
         if(row == col) {
-            leftDiagMap.put(symbol,
-                    leftDiagMap.get(symbol) - 1);
+            leftDiagCounts[slot] -= 1;
+
+            if(leftDiagCounts[slot] == 0) {
+                leftDiagPlayers -= 1;
+            }
         }
 
         if(row + col == board.getSize() - 1) {
-            rightDiagMap.put(symbol,
-                    rightDiagMap.get(symbol) - 1);
+            rightDiagCounts[slot] -= 1;
+
+            if(rightDiagCounts[slot] == 0) {
+                rightDiagPlayers -= 1;
+            }
         }
     }
+
+    @Override
+    public boolean hasLiveLine(Board board) {
+        // A diag is dead once two different players are on it
+        return leftDiagPlayers < 2 || rightDiagPlayers < 2;
+    }
 }
@@ -2,22 +2,22 @@ package strategies;
 
 import models.Board;
 import models.Cell;
-import models.CellState;
 import models.Move;
+import models.Player;
 
 import java.util.List;
+import java.util.Random;
 
 public class EasyBotPlayingStrategy implements BotPlayingStrategy {
+    private Random random = new Random();
+
     @Override
-    public Move makeMove(Board board) {
-        for(List<Cell> row: board.getBoard()) {
-            for(Cell cell: row) {
-                if(cell.getCellState().equals(CellState.EMPTY)) {
-                    return new Move(cell, null);
-                }
-            }
+    public Move makeMove(Board board, Player player, List<Move> moves) {
+        Cell cell = board.getRandomEmptyCell(random);
+        if(cell == null) {
+            return null;
         }
 
-        return null;
+        return new Move(cell, player);
     }
 }
@@ -3,10 +3,13 @@ package strategies;
 
 import models.Board;
 import models.Move;
+import models.Player;
+
+import java.util.List;
 
 public class HardBotPlayingStrategy implements BotPlayingStrategy {
     @Override
-    public Move makeMove(Board board) {
+    public Move makeMove(Board board, Player player, List<Move> moves) {
         return null;
     }
 }
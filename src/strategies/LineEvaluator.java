@@ -0,0 +1,319 @@
+package strategies;
+
+import models.Board;
+import models.Cell;
+import models.CellState;
+import models.Game;
+import models.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Static evaluator for bots. Keeps, for every row, col and diag, how many
+// cells each player slot holds and updates a per-slot score on every
+// addMove / removeMove, so a search can apply, evaluate and undo a move
+// without rescanning the board.
+//
+// sync() catches up with the moves and undos of a game since the last
+// call, so one evaluator can follow a whole game.
+public class LineEvaluator {
+    private static final int NO_OWNER = -1;
+    private static final int DEAD = -2;
+
+    private int size;
+    private int linesCount;
+
+    private int[][] lineCounts; // [line][slot]
+    private int[] lineFilled;
+    private int[] lineDistinct;
+    private int[] lineOwner; // slot, NO_OWNER when empty, DEAD when shared
+    private int deadLines;
+
+    // Score of a live line owned by a slot, indexed by how many cells
+    // of the line that slot holds
+    private long[] scoreTable;
+    private long[] slotScores = new long[Game.MAX_PLAYERS];
+
+    // Game moves applied by sync(), oldest first
+    private Move[] appliedMoves;
+    private int appliedCount;
+
+    public LineEvaluator(int size) {
+        this.size = size;
+        this.linesCount = 2 * size + 2;
+        this.lineCounts = new int[linesCount][Game.MAX_PLAYERS];
+        this.lineFilled = new int[linesCount];
+        this.lineDistinct = new int[linesCount];
+        this.lineOwner = new int[linesCount];
+
+        for (int i = 0; i < linesCount; ++i) {
+            lineOwner[i] = NO_OWNER;
+        }
+
+        scoreTable = new long[size + 1];
+        for (int k = 1; k < size; ++k) {
+            scoreTable[k] = (long) k * k * k;
+        }
+        scoreTable[size] = 1L << 40;
+
+        appliedMoves = new Move[size * size];
+    }
+
+    // Scans the filled cells of the board. Can't be synced with a game
+    // afterwards, it doesn't know the order of the moves.
+    public LineEvaluator(Board board) {
+        this(board.getSize());
+
+        for(List<Cell> row: board.getBoard()) {
+            for(Cell cell: row) {
+                if(cell.getCellState().equals(CellState.FILLED)) {
+                    addMove(cell.getRow(), cell.getCol(), cell.getPlayer().getSlot());
+                }
+            }
+        }
+    }
+
+    // Undoes the applied moves that are no longer in the game's moves and
+    // applies the new ones. Game creates a new Move for every move, so a
+    // move undone and played again is told apart by identity. Costs one
+    // step per move or undo since the last call.
+    public void sync(List<Move> moves) {
+        while(appliedCount > 0 && (appliedCount > moves.size()
+                || appliedMoves[appliedCount - 1] != moves.get(appliedCount - 1))) {
+            appliedCount -= 1;
+            applyMove(appliedMoves[appliedCount], -1);
+            appliedMoves[appliedCount] = null;
+        }
+
+        for (; appliedCount < moves.size(); ++appliedCount) {
+            Move move = moves.get(appliedCount);
+            appliedMoves[appliedCount] = move;
+            applyMove(move, 1);
+        }
+    }
+
+    public void addMove(int row, int col, int slot) {
+        updateLine(row, slot, 1);
+        updateLine(size + col, slot, 1);
+        if(row == col) {
+            updateLine(2 * size, slot, 1);
+        }
+        if(row + col == size - 1) {
+            updateLine(2 * size + 1, slot, 1);
+        }
+    }
+
+    public void removeMove(int row, int col, int slot) {
+        updateLine(row, slot, -1);
+        updateLine(size + col, slot, -1);
+        if(row == col) {
+            updateLine(2 * size, slot, -1);
+        }
+        if(row + col == size - 1) {
+            updateLine(2 * size + 1, slot, -1);
+        }
+    }
+
+    // Score of the position from the point of view of the given slot
+    public long evaluate(int slot) {
+        long score = 0;
+        for (int i = 0; i < Game.MAX_PLAYERS; ++i) {
+            if(i == slot) {
+                score += slotScores[i];
+            } else {
+                score -= slotScores[i];
+            }
+        }
+
+        return score;
+    }
+
+    public int getLiveLinesCount() {
+        return linesCount - deadLines;
+    }
+
+    // Empty cell that completes a line for the given slot, if any
+    public Cell findWinningCell(Board board, int slot) {
+        for (int line = 0; line < linesCount; ++line) {
+            if(lineOwner[line] == slot && lineFilled[line] == size - 1) {
+                return findEmptyCell(board, line);
+            }
+        }
+
+        return null;
+    }
+
+    // Empty cell that stops some other slot from completing a line, if any
+    public Cell findBlockingCell(Board board, int slot) {
+        for (int line = 0; line < linesCount; ++line) {
+            if(lineOwner[line] >= 0 && lineOwner[line] != slot
+                    && lineFilled[line] == size - 1) {
+                return findEmptyCell(board, line);
+            }
+        }
+
+        return null;
+    }
+
+    // Empty cell that leaves the given slot two or more lines that each
+    // need one more cell. Only one of them can be blocked, so it is a
+    // forced win unless the opponent wins first.
+    public Cell findForkCell(Board board, int slot) {
+        return findFork(board, slot, true);
+    }
+
+    // Empty cell where some other slot could create a fork, if any
+    public Cell findForkBlockingCell(Board board, int slot) {
+        return findFork(board, slot, false);
+    }
+
+    // Empty cells of the most filled live lines, at most limit of them.
+    // Good enough to prune a search instead of trying every empty cell.
+    public List<Cell> getCandidateCells(Board board, int limit) {
+        List<Cell> candidates = new ArrayList<>();
+
+        for (int filled = size - 1; filled > 0 && candidates.size() < limit; --filled) {
+            for (int line = 0; line < linesCount && candidates.size() < limit; ++line) {
+                if(lineOwner[line] >= 0 && lineFilled[line] == filled) {
+                    addEmptyCells(board, line, candidates, limit);
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    private Cell findFork(Board board, int slot, boolean own) {
+        // A fork needs lines one cell short of a threat
+        if(size < 3) {
+            return null;
+        }
+
+        List<Cell> cells = new ArrayList<>(2);
+        for (int line = 0; line < linesCount; ++line) {
+            int owner = lineOwner[line];
+            if(owner < 0 || (owner == slot) != own || lineFilled[line] != size - 2) {
+                continue;
+            }
+
+            cells.clear();
+            addEmptyCells(board, line, cells, 2);
+            for(Cell cell: cells) {
+                if(countNearThreats(cell.getRow(), cell.getCol(), owner) >= 2) {
+                    return cell;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    // Lines through the cell that the slot would leave one cell short
+    private int countNearThreats(int row, int col, int slot) {
+        int count = isNearThreat(row, slot) + isNearThreat(size + col, slot);
+        if(row == col) {
+            count += isNearThreat(2 * size, slot);
+        }
+        if(row + col == size - 1) {
+            count += isNearThreat(2 * size + 1, slot);
+        }
+
+        return count;
+    }
+
+    private int isNearThreat(int line, int slot) {
+        return lineOwner[line] == slot && lineFilled[line] == size - 2 ? 1 : 0;
+    }
+
+    private void applyMove(Move move, int delta) {
+        Cell cell = move.getCell();
+        int slot = move.getPlayer().getSlot();
+        if(delta > 0) {
+            addMove(cell.getRow(), cell.getCol(), slot);
+        } else {
+            removeMove(cell.getRow(), cell.getCol(), slot);
+        }
+    }
+
+    private void updateLine(int line, int slot, int delta) {
+        removeContribution(line);
+
+        int before = lineCounts[line][slot];
+        lineCounts[line][slot] += delta;
+        lineFilled[line] += delta;
+
+        if(before == 0) {
+            lineDistinct[line] += 1;
+            if(lineDistinct[line] == 2) {
+                deadLines += 1;
+            }
+        } else if(lineCounts[line][slot] == 0) {
+            lineDistinct[line] -= 1;
+            if(lineDistinct[line] == 1) {
+                deadLines -= 1;
+            }
+        }
+
+        if(lineDistinct[line] == 0) {
+            lineOwner[line] = NO_OWNER;
+        } else if(lineDistinct[line] == 1) {
+            lineOwner[line] = lineCounts[line][slot] > 0 ? slot : findOwner(line);
+        } else {
+            lineOwner[line] = DEAD;
+        }
+
+        addContribution(line);
+    }
+
+    private void removeContribution(int line) {
+        int owner = lineOwner[line];
+        if(owner >= 0) {
+            slotScores[owner] -= scoreTable[lineFilled[line]];
+        }
+    }
+
+    private void addContribution(int line) {
+        int owner = lineOwner[line];
+        if(owner >= 0) {
+            slotScores[owner] += scoreTable[lineFilled[line]];
+        }
+    }
+
+    private int findOwner(int line) {
+        for (int i = 0; i < Game.MAX_PLAYERS; ++i) {
+            if(lineCounts[line][i] > 0) {
+                return i;
+            }
+        }
+
+        return NO_OWNER;
+    }
+
+    private Cell findEmptyCell(Board board, int line) {
+        List<Cell> cells = new ArrayList<>(1);
+        addEmptyCells(board, line, cells, 1);
+
+        return cells.isEmpty() ? null : cells.get(0);
+    }
+
+    private void addEmptyCells(Board board, int line, List<Cell> cells, int limit) {
+        for (int i = 0; i < size && cells.size() < limit; ++i) {
+            Cell cell = getLineCell(board, line, i);
+            if(cell.getCellState().equals(CellState.EMPTY) && !cells.contains(cell)) {
+                cells.add(cell);
+            }
+        }
+    }
+
+    private Cell getLineCell(Board board, int line, int i) {
+        if(line < size) {
+            return board.getBoard().get(line).get(i);
+        } else if(line < 2 * size) {
+            return board.getBoard().get(i).get(line - size);
+        } else if(line == 2 * size) {
+            return board.getBoard().get(i).get(i);
+        }
+
+        return board.getBoard().get(i).get(size - 1 - i);
+    }
+}
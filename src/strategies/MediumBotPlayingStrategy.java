@@ -1,11 +1,73 @@
 package strategies;
 
 import models.Board;
+import models.Cell;
 import models.Move;
+import models.Player;
+
+import java.util.List;
+import java.util.Random;
 
 public class MediumBotPlayingStrategy implements BotPlayingStrategy {
+    private static final int MAX_CANDIDATES = 16;
+
+    private Random random = new Random();
+
+    // Follows the game being played through its moves, see
+    // LineEvaluator.sync
+    private Board board;
+    private LineEvaluator evaluator;
+
     @Override
-    public Move makeMove(Board board) {
-        return null;
+    public Move makeMove(Board board, Player player, List<Move> moves) {
+        if(moves == null) {
+            this.board = null;
+            this.evaluator = new LineEvaluator(board);
+        } else {
+            if(this.board != board) {
+                this.board = board;
+                this.evaluator = new LineEvaluator(board.getSize());
+            }
+            evaluator.sync(moves);
+        }
+
+        int slot = player.getSlot();
+
+        // Win if we can, otherwise block, then look for forks
+        Cell cell = evaluator.findWinningCell(board, slot);
+        if(cell == null) {
+            cell = evaluator.findBlockingCell(board, slot);
+        }
+        if(cell == null) {
+            cell = evaluator.findForkCell(board, slot);
+        }
+        if(cell == null) {
+            cell = evaluator.findForkBlockingCell(board, slot);
+        }
+
+        if(cell == null) {
+            long bestScore = Long.MIN_VALUE;
+            for(Cell candidate: evaluator.getCandidateCells(board, MAX_CANDIDATES)) {
+                evaluator.addMove(candidate.getRow(), candidate.getCol(), slot);
+                long score = evaluator.evaluate(slot);
+                evaluator.removeMove(candidate.getRow(), candidate.getCol(), slot);
+
+                if(score > bestScore) {
+                    bestScore = score;
+                    cell = candidate;
+                }
+            }
+        }
+
+        // Nothing on the board yet
+        if(cell == null) {
+            cell = board.getRandomEmptyCell(random);
+        }
+
+        if(cell == null) {
+            return null;
+        }
+
+        return new Move(cell, player);
     }
 }
@@ -1,33 +1,57 @@
 package strategies;
 
 import models.Board;
+import models.Game;
 import models.Move;
-import models.Symbol;
-
-import java.util.HashMap;
-import java.util.Map;
 
 public class RowWinningStrategy implements WinningStrategy {
-    private Map<Integer, Map<Symbol, Integer>> counts = new HashMap<>();
+    // counts[row][slot] is how many cells of the row that player holds
+    private short[][] counts;
+    private byte[] distinctPlayers;
+    private int deadRows = 0;
+
     @Override
     public boolean checkWinner(Board board, Move move) {
+        if(counts == null) {
+            counts = new short[board.getSize()][Game.MAX_PLAYERS];
+            distinctPlayers = new byte[board.getSize()];
+        }
+
         int row = move.getCell().getRow();
-        Symbol symbol = move.getPlayer().getSymbol();
+        int slot = move.getPlayer().getSlot();
 
-        // Flaw in logic. Fix it.
+        if(counts[row][slot] == 0) {
+            distinctPlayers[row] += 1;
 
-        Map<Symbol, Integer> rowMap = counts.getOrDefault(row, new HashMap<>());
-        rowMap.put(symbol, rowMap.getOrDefault(symbol, 0) + 1);
+            // Second player in this row, it can't be won anymore
+            if(distinctPlayers[row] == 2) {
+                deadRows += 1;
+            }
+        }
 
-        return rowMap.get(symbol) == board.getSize();
+        counts[row][slot] += 1;
+
+        return counts[row][slot] == board.getSize();
     }
 
     @Override
     public void handleUndo(Board board, Move move) {
         int row = move.getCell().getRow();
-        Symbol symbol = move.getPlayer().getSymbol();
+        int slot = move.getPlayer().getSlot();
+
+        counts[row][slot] -= 1;
 
-        Map<Symbol, Integer> rowMap = counts.get(row);
-        rowMap.put(symbol, rowMap.get(symbol) - 1);
+        if(counts[row][slot] == 0) {
+            distinctPlayers[row] -= 1;
+
+            if(distinctPlayers[row] == 1) {
+                deadRows -= 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasLiveLine(Board board) {
+        return deadRows < board.getSize();
     }
 }
@@ -7,4 +7,8 @@ public interface WinningStrategy {
     public boolean checkWinner(Board board, Move move);
 
     public void handleUndo(Board board, Move move);
+
+    // A line is dead once it holds two or more different symbols,
+    // as nobody can complete it anymore.
+    public boolean hasLiveLine(Board board);
 }
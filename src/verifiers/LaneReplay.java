@@ -0,0 +1,211 @@
+package verifiers;
+
+import analytics.GameRecord;
+import models.GameState;
+
+import java.util.List;
+
+// Replays several games of the same board size, player count and winning
+// lines at once, SWAR style: every long holds one lane per game, each lane
+// being the game's cells plus a guard bit. Move k of every game is applied
+// in the same step, and occupancy, wins, full boards and dead lines are
+// checked for all lanes with a handful of long operations.
+//
+// A lane is tested for "non zero" by adding all ones to its cells: the
+// carry reaches the guard bit only if some cell bit was set, and can't go
+// past it.
+class LaneReplay {
+    // Bigger boards only fit one game per long
+    static final int MAX_BOARD_SIZE = 5;
+
+    private int boardSize;
+    private int playersCount;
+    private int lineKinds;
+    private int cellsCount;
+    private int laneWidth;
+
+    private long cellBits; // every cell bit of every lane
+    private long guardBits;
+    private long[] lineMasks; // replicated in every lane
+
+    // Games waiting for a replay, by index in the batch
+    private int[] pending;
+    private int pendingCount;
+
+    private int[][] moveCells;
+    private long[] playerBoards;
+    private ReplayResult[] laneResults;
+
+    static int getLanesCount(int boardSize) {
+        return 64 / (boardSize * boardSize + 1);
+    }
+
+    LaneReplay(int boardSize, int playersCount, long[] activeLineMasks, int lineKinds) {
+        this.boardSize = boardSize;
+        this.playersCount = playersCount;
+        this.lineKinds = lineKinds;
+        this.cellsCount = boardSize * boardSize;
+        this.laneWidth = cellsCount + 1;
+
+        this.cellBits = replicate((1L << cellsCount) - 1);
+        this.guardBits = replicate(1L << cellsCount);
+
+        this.lineMasks = new long[activeLineMasks.length];
+        for (int i = 0; i < activeLineMasks.length; ++i) {
+            lineMasks[i] = replicate(activeLineMasks[i]);
+        }
+
+        int lanesCount = getLanesCount(boardSize);
+        this.pending = new int[lanesCount];
+        this.moveCells = new int[lanesCount][];
+        this.playerBoards = new long[playersCount];
+        this.laneResults = new ReplayResult[lanesCount];
+    }
+
+    // Queues a game, true once every lane has one
+    boolean add(int index) {
+        pending[pendingCount++] = index;
+        return pendingCount == pending.length;
+    }
+
+    // Replays the queued games and stores their results at their index
+    void flush(List<GameRecord> gameRecords, ReplayResult[] replayResults) {
+        if(pendingCount == 0) {
+            return;
+        }
+
+        for (int lane = 0; lane < pendingCount; ++lane) {
+            moveCells[lane] = gameRecords.get(pending[lane]).getMoveCells();
+        }
+
+        replay(pendingCount);
+
+        for (int lane = 0; lane < pendingCount; ++lane) {
+            GameRecord gameRecord = gameRecords.get(pending[lane]);
+            replayResults[pending[lane]] = ReplayVerifier.compareWithClaim(laneResults[lane],
+                    gameRecord.getGameState(), gameRecord.getWinnerSlot());
+            moveCells[lane] = null;
+        }
+        pendingCount = 0;
+    }
+
+    private void replay(int lanes) {
+        ReplayResult[] replayResults = laneResults;
+        for (int lane = 0; lane < lanes; ++lane) {
+            replayResults[lane] = null;
+        }
+        for (int i = 0; i < playersCount; ++i) {
+            playerBoards[i] = 0;
+        }
+
+        long occupied = 0;
+        int active = lanes;
+        int slot = 0;
+
+        for (int step = 0; active > 0; ++step) {
+            // Gather this step's move of every lane still playing
+            long moveBits = 0;
+            for (int lane = 0; lane < lanes; ++lane) {
+                if(replayResults[lane] != null) {
+                    continue;
+                }
+
+                int[] cells = moveCells[lane];
+                if(step == cells.length) {
+                    replayResults[lane] = ReplayVerifier.inProgress();
+                    active -= 1;
+                } else if(cells[step] < 0 || cells[step] >= cellsCount) {
+                    replayResults[lane] = ReplayVerifier.illegal(ReplayStatus.OUT_OF_BOUNDS, step);
+                    active -= 1;
+                } else {
+                    moveBits |= 1L << (lane * laneWidth + cells[step]);
+                }
+            }
+
+            // Moves on filled cells
+            long occupiedLanes = nonZeroLanes(occupied & moveBits);
+            for (long g = occupiedLanes; g != 0; g &= g - 1) {
+                int lane = Long.numberOfTrailingZeros(g) / laneWidth;
+                replayResults[lane] = ReplayVerifier.illegal(ReplayStatus.CELL_OCCUPIED, step);
+                active -= 1;
+                moveBits &= ~laneMask(lane);
+            }
+
+            occupied |= moveBits;
+            long playerBoard = playerBoards[slot] | moveBits;
+            playerBoards[slot] = playerBoard;
+            long movedLanes = nonZeroLanes(moveBits);
+
+            long wonLanes = 0;
+            for(long lineMask: lineMasks) {
+                wonLanes |= guardBits & ~nonZeroLanes((playerBoard & lineMask) ^ lineMask);
+            }
+            wonLanes &= movedLanes;
+
+            long fullLanes = guardBits & ~nonZeroLanes(occupied ^ cellBits);
+            long drawnLanes = (fullLanes | allLinesDeadLanes()) & movedLanes & ~wonLanes;
+
+            for (long g = wonLanes; g != 0; g &= g - 1) {
+                int lane = Long.numberOfTrailingZeros(g) / laneWidth;
+                replayResults[lane] = ReplayVerifier.ended(moveCells[lane], step, GameState.WIN, slot);
+                active -= 1;
+            }
+            for (long g = drawnLanes; g != 0; g &= g - 1) {
+                int lane = Long.numberOfTrailingZeros(g) / laneWidth;
+                replayResults[lane] = ReplayVerifier.ended(moveCells[lane], step, GameState.DRAW, ReplayResult.NONE);
+                active -= 1;
+            }
+
+            slot += 1;
+            if(slot == playersCount) {
+                slot = 0;
+            }
+        }
+    }
+
+    // Guard bits of the lanes where no winnable line is left
+    private long allLinesDeadLanes() {
+        // Without any winnable line only a full board ends the game
+        if(lineKinds == 0) {
+            return 0;
+        }
+
+        long allDead = guardBits;
+        for(long lineMask: lineMasks) {
+            long seenOnce = 0;
+            long seenTwice = 0;
+            for (int i = 0; i < playersCount; ++i) {
+                long has = nonZeroLanes(playerBoards[i] & lineMask);
+                seenTwice |= seenOnce & has;
+                seenOnce |= has;
+            }
+            allDead &= seenTwice;
+
+            // Usually some line is still live in every lane
+            if(allDead == 0) {
+                return 0;
+            }
+        }
+
+        return allDead;
+    }
+
+    // Guard bit set for every lane with a cell bit set, value must not
+    // have guard bits set
+    private long nonZeroLanes(long value) {
+        return (value + cellBits) & guardBits;
+    }
+
+    private long laneMask(int lane) {
+        return ((1L << laneWidth) - 1) << (lane * laneWidth);
+    }
+
+    private long replicate(long laneValue) {
+        long value = 0;
+        for (int lane = 0; lane < getLanesCount(boardSize); ++lane) {
+            value |= laneValue << (lane * laneWidth);
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,44 @@
+package verifiers;
+
+import models.GameState;
+
+public class ReplayResult {
+    public static final int NONE = -1;
+
+    private ReplayStatus replayStatus;
+    private int badMoveIndex;
+    private GameState gameState;
+    private int winnerSlot;
+    private int winningMoveIndex;
+
+    public ReplayResult(ReplayStatus replayStatus, int badMoveIndex, GameState gameState,
+                        int winnerSlot, int winningMoveIndex) {
+        this.replayStatus = replayStatus;
+        this.badMoveIndex = badMoveIndex;
+        this.gameState = gameState;
+        this.winnerSlot = winnerSlot;
+        this.winningMoveIndex = winningMoveIndex;
+    }
+
+    public ReplayStatus getReplayStatus() {
+        return replayStatus;
+    }
+
+    // Index of the first illegal move, NONE if every move was legal
+    public int getBadMoveIndex() {
+        return badMoveIndex;
+    }
+
+    // Result of the moves as replayed, not the one the game claimed
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getWinnerSlot() {
+        return winnerSlot;
+    }
+
+    public int getWinningMoveIndex() {
+        return winningMoveIndex;
+    }
+}
@@ -0,0 +1,14 @@
+package verifiers;
+
+public enum ReplayStatus {
+    VALID,
+    OUT_OF_BOUNDS,
+    CELL_OCCUPIED,
+    WRONG_TURN,
+    MOVE_AFTER_END,
+    RESULT_MISMATCH,
+    // Player count, board size or moves can't come from a real game
+    BAD_RECORD,
+    // A winning strategy the verifier doesn't know how to replay
+    UNKNOWN_STRATEGY
+}
@@ -0,0 +1,446 @@
+package verifiers;
+
+import analytics.GameRecord;
+import models.Game;
+import models.GameState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Re-validates archived games without building Game, Board or Player
+// objects. Checks that every move is in bounds, on an empty cell and made
+// by the right player, that nothing is played after the game ended, and
+// that the claimed result matches the replayed one. Only the lines of the
+// game's own winning strategies can win or keep the game alive.
+//
+// In a batch, games on boards small enough to share a long (up to 5x5)
+// are grouped and replayed together by LaneReplay, several games per
+// long operation. Other boards of up to 64 cells keep one long bitboard
+// per player and check wins with precomputed line masks. Bigger boards
+// use a word array for occupancy and flat per-line counters for wins.
+//
+// Reuses its scratch arrays between games, so it is not thread safe.
+public class ReplayVerifier {
+    // Which lines can be won, from the game's winning strategies
+    static final int ROWS = 1;
+    static final int COLS = 2;
+    static final int DIAGS = 4;
+    static final int UNKNOWN = -1;
+
+    // Keeps counters in shorts and the occupancy words of a tampered
+    // record to a few MB
+    private static final int MAX_BOARD_SIZE = 4096;
+    private static final int MAX_BITBOARD_CELLS = 64;
+
+    private Map<Integer, long[]> lineMasksBySize = new HashMap<>();
+    private Map<Integer, long[]> activeLineMasksByKey = new HashMap<>();
+
+    // One per board size, player count and line kinds, see getLaneReplay
+    private LaneReplay[] laneReplays =
+            new LaneReplay[(LaneReplay.MAX_BOARD_SIZE + 1) * (Game.MAX_PLAYERS + 1) * 8];
+
+    private long[] playerBoards = new long[Game.MAX_PLAYERS];
+    private long[] occupiedWords = new long[0];
+    private short[] lineCounts = new short[0]; // [line * MAX_PLAYERS + slot]
+    private byte[] linePlayers = new byte[0];
+    private int deadLines;
+
+    public List<ReplayResult> verify(List<GameRecord> gameRecords) {
+        ReplayResult[] replayResults = new ReplayResult[gameRecords.size()];
+
+        // Small boards wait in the LaneReplay of their shape until it
+        // has one game per lane
+        for (int i = 0; i < gameRecords.size(); ++i) {
+            GameRecord gameRecord = gameRecords.get(i);
+            int boardSize = gameRecord.getBoardSize();
+            int playersCount = gameRecord.getBotLevels().length;
+            int lineKinds = getLineKinds(gameRecord.getWinningStrategies());
+
+            ReplayResult badRecord = checkRecord(boardSize, playersCount,
+                    gameRecord.getMoveCells(), null, lineKinds);
+            if(badRecord != null) {
+                replayResults[i] = badRecord;
+                continue;
+            }
+
+            if(boardSize > LaneReplay.MAX_BOARD_SIZE) {
+                replayResults[i] = verify(gameRecord);
+                continue;
+            }
+
+            LaneReplay laneReplay = getLaneReplay(boardSize, playersCount, lineKinds);
+            if(laneReplay.add(i)) {
+                laneReplay.flush(gameRecords, replayResults);
+            }
+        }
+
+        for(LaneReplay laneReplay: laneReplays) {
+            if(laneReplay != null) {
+                laneReplay.flush(gameRecords, replayResults);
+            }
+        }
+
+        return Arrays.asList(replayResults);
+    }
+
+    // Exported games don't store who made each move, they always rotate
+    // through the slots starting at 0
+    public ReplayResult verify(GameRecord gameRecord) {
+        return verify(gameRecord.getBoardSize(), gameRecord.getBotLevels().length,
+                gameRecord.getWinningStrategies(), gameRecord.getMoveCells(), null,
+                gameRecord.getGameState(), gameRecord.getWinnerSlot());
+    }
+
+    // winningStrategies are strategy class names, as in GameRecord.
+    // moveCells holds row * boardSize + col for every move. moveSlots can be
+    // null when moves are known to rotate through the players.
+    public ReplayResult verify(int boardSize, int playersCount, List<String> winningStrategies,
+                               int[] moveCells, int[] moveSlots,
+                               GameState claimedGameState, int claimedWinnerSlot) {
+        int lineKinds = getLineKinds(winningStrategies);
+        ReplayResult badRecord = checkRecord(boardSize, playersCount, moveCells, moveSlots, lineKinds);
+        if(badRecord != null) {
+            return badRecord;
+        }
+
+        ReplayResult replayResult;
+        if(boardSize * boardSize <= MAX_BITBOARD_CELLS) {
+            replayResult = replayOnBitboards(boardSize, playersCount, lineKinds, moveCells, moveSlots);
+        } else {
+            replayResult = replayOnCounters(boardSize, playersCount, lineKinds, moveCells, moveSlots);
+        }
+
+        return compareWithClaim(replayResult, claimedGameState, claimedWinnerSlot);
+    }
+
+    static ReplayResult compareWithClaim(ReplayResult replayResult, GameState claimedGameState,
+                                         int claimedWinnerSlot) {
+        if(replayResult.getReplayStatus() != ReplayStatus.VALID) {
+            return replayResult;
+        }
+
+        if(replayResult.getGameState() != claimedGameState
+                || replayResult.getWinnerSlot() != claimedWinnerSlot) {
+            return new ReplayResult(ReplayStatus.RESULT_MISMATCH, ReplayResult.NONE,
+                    replayResult.getGameState(), replayResult.getWinnerSlot(),
+                    replayResult.getWinningMoveIndex());
+        }
+
+        return replayResult;
+    }
+
+    static ReplayResult ended(int[] moveCells, int index, GameState gameState, int winnerSlot) {
+        if(index != moveCells.length - 1) {
+            return illegal(ReplayStatus.MOVE_AFTER_END, index + 1);
+        }
+
+        int winningMoveIndex = gameState == GameState.WIN ? index : ReplayResult.NONE;
+        return new ReplayResult(ReplayStatus.VALID, ReplayResult.NONE, gameState, winnerSlot, winningMoveIndex);
+    }
+
+    static ReplayResult inProgress() {
+        return new ReplayResult(ReplayStatus.VALID, ReplayResult.NONE,
+                GameState.IN_PROGRESS, ReplayResult.NONE, ReplayResult.NONE);
+    }
+
+    static ReplayResult illegal(ReplayStatus replayStatus, int index) {
+        return new ReplayResult(replayStatus, index, null, ReplayResult.NONE, ReplayResult.NONE);
+    }
+
+    // Masks of the lines that can be won, rows, then cols, then diags
+    long[] getActiveLineMasks(int boardSize, int lineKinds) {
+        int key = boardSize * 8 + lineKinds;
+        long[] activeLineMasks = activeLineMasksByKey.get(key);
+        if(activeLineMasks != null) {
+            return activeLineMasks;
+        }
+
+        long[] lineMasks = getLineMasks(boardSize);
+        List<Long> active = new ArrayList<>();
+        for (int line = 0; line < lineMasks.length; ++line) {
+            if(isActive(line, boardSize, lineKinds)) {
+                active.add(lineMasks[line]);
+            }
+        }
+
+        activeLineMasks = new long[active.size()];
+        for (int i = 0; i < activeLineMasks.length; ++i) {
+            activeLineMasks[i] = active.get(i);
+        }
+
+        activeLineMasksByKey.put(key, activeLineMasks);
+        return activeLineMasks;
+    }
+
+    private LaneReplay getLaneReplay(int boardSize, int playersCount, int lineKinds) {
+        int key = (boardSize * (Game.MAX_PLAYERS + 1) + playersCount) * 8 + lineKinds;
+        if(laneReplays[key] == null) {
+            laneReplays[key] = new LaneReplay(boardSize, playersCount,
+                    getActiveLineMasks(boardSize, lineKinds), lineKinds);
+        }
+
+        return laneReplays[key];
+    }
+
+    // Anything that would make the replay itself fail, null when fine
+    private static ReplayResult checkRecord(int boardSize, int playersCount, int[] moveCells,
+                                            int[] moveSlots, int lineKinds) {
+        if(lineKinds == UNKNOWN) {
+            return illegal(ReplayStatus.UNKNOWN_STRATEGY, ReplayResult.NONE);
+        }
+
+        if(playersCount < Game.MIN_PLAYERS || playersCount > Game.MAX_PLAYERS
+                || boardSize < 1 || boardSize > MAX_BOARD_SIZE
+                || moveCells == null
+                || (moveSlots != null && moveSlots.length != moveCells.length)) {
+            return illegal(ReplayStatus.BAD_RECORD, ReplayResult.NONE);
+        }
+
+        return null;
+    }
+
+    private static int getLineKinds(List<String> winningStrategies) {
+        if(winningStrategies == null) {
+            return UNKNOWN;
+        }
+
+        int lineKinds = 0;
+        for(String winningStrategy: winningStrategies) {
+            if(winningStrategy.equals("RowWinningStrategy")) {
+                lineKinds |= ROWS;
+            } else if(winningStrategy.equals("ColWinningStrategy")) {
+                lineKinds |= COLS;
+            } else if(winningStrategy.equals("DiagWinningStrategy")) {
+                lineKinds |= DIAGS;
+            } else {
+                return UNKNOWN;
+            }
+        }
+
+        return lineKinds;
+    }
+
+    private static boolean isActive(int line, int boardSize, int lineKinds) {
+        if(line < boardSize) {
+            return (lineKinds & ROWS) != 0;
+        } else if(line < 2 * boardSize) {
+            return (lineKinds & COLS) != 0;
+        }
+
+        return (lineKinds & DIAGS) != 0;
+    }
+
+    private ReplayResult replayOnBitboards(int boardSize, int playersCount, int lineKinds,
+                                           int[] moveCells, int[] moveSlots) {
+        long[] lineMasks = getLineMasks(boardSize);
+        long[] activeLineMasks = getActiveLineMasks(boardSize, lineKinds);
+        boolean rows = (lineKinds & ROWS) != 0;
+        boolean cols = (lineKinds & COLS) != 0;
+        boolean diags = (lineKinds & DIAGS) != 0;
+
+        int cellsCount = boardSize * boardSize;
+        long fullBoard = cellsCount == 64 ? -1L : (1L << cellsCount) - 1;
+
+        for (int i = 0; i < playersCount; ++i) {
+            playerBoards[i] = 0;
+        }
+
+        long occupied = 0;
+        int slot = 0;
+        for (int i = 0; i < moveCells.length; ++i) {
+            ReplayResult illegal = checkMove(moveCells, moveSlots, i, slot, cellsCount);
+            if(illegal != null) {
+                return illegal;
+            }
+
+            long bit = 1L << moveCells[i];
+            if((occupied & bit) != 0) {
+                return illegal(ReplayStatus.CELL_OCCUPIED, i);
+            }
+
+            occupied |= bit;
+            long playerBoard = playerBoards[slot] | bit;
+            playerBoards[slot] = playerBoard;
+
+            int row = moveCells[i] / boardSize;
+            int col = moveCells[i] - row * boardSize;
+            if((rows && isFull(playerBoard, lineMasks[row]))
+                    || (cols && isFull(playerBoard, lineMasks[boardSize + col]))
+                    || (diags && row == col && isFull(playerBoard, lineMasks[2 * boardSize]))
+                    || (diags && row + col == boardSize - 1 && isFull(playerBoard, lineMasks[2 * boardSize + 1]))) {
+                return ended(moveCells, i, GameState.WIN, slot);
+            }
+
+            if(occupied == fullBoard || !hasLiveLine(activeLineMasks, playersCount)) {
+                return ended(moveCells, i, GameState.DRAW, ReplayResult.NONE);
+            }
+
+            slot += 1;
+            if(slot == playersCount) {
+                slot = 0;
+            }
+        }
+
+        return inProgress();
+    }
+
+    private ReplayResult replayOnCounters(int boardSize, int playersCount, int lineKinds,
+                                          int[] moveCells, int[] moveSlots) {
+        int cellsCount = boardSize * boardSize;
+        int linesCount = 2 * boardSize + 2;
+        prepareCounters((cellsCount + 63) >>> 6, linesCount);
+
+        boolean rows = (lineKinds & ROWS) != 0;
+        boolean cols = (lineKinds & COLS) != 0;
+        boolean diags = (lineKinds & DIAGS) != 0;
+        int activeLinesCount = (rows ? boardSize : 0) + (cols ? boardSize : 0) + (diags ? 2 : 0);
+
+        int slot = 0;
+        for (int i = 0; i < moveCells.length; ++i) {
+            ReplayResult illegal = checkMove(moveCells, moveSlots, i, slot, cellsCount);
+            if(illegal != null) {
+                return illegal;
+            }
+
+            int cell = moveCells[i];
+            long bit = 1L << cell;
+            if((occupiedWords[cell >>> 6] & bit) != 0) {
+                return illegal(ReplayStatus.CELL_OCCUPIED, i);
+            }
+            occupiedWords[cell >>> 6] |= bit;
+
+            int row = cell / boardSize;
+            int col = cell - row * boardSize;
+
+            boolean hasWon = false;
+            if(rows) {
+                hasWon |= addToLine(row, slot, boardSize);
+            }
+            if(cols) {
+                hasWon |= addToLine(boardSize + col, slot, boardSize);
+            }
+            if(diags && row == col) {
+                hasWon |= addToLine(2 * boardSize, slot, boardSize);
+            }
+            if(diags && row + col == boardSize - 1) {
+                hasWon |= addToLine(2 * boardSize + 1, slot, boardSize);
+            }
+
+            if(hasWon) {
+                return ended(moveCells, i, GameState.WIN, slot);
+            }
+
+            // Without any winnable line only a full board ends the game
+            if(i + 1 == cellsCount || (activeLinesCount > 0 && deadLines == activeLinesCount)) {
+                return ended(moveCells, i, GameState.DRAW, ReplayResult.NONE);
+            }
+
+            slot += 1;
+            if(slot == playersCount) {
+                slot = 0;
+            }
+        }
+
+        return inProgress();
+    }
+
+    // True when the line is now full of that player's symbol
+    private boolean addToLine(int line, int slot, int boardSize) {
+        int index = line * Game.MAX_PLAYERS + slot;
+        if(lineCounts[index] == 0) {
+            linePlayers[line] += 1;
+            if(linePlayers[line] == 2) {
+                deadLines += 1;
+            }
+        }
+
+        lineCounts[index] += 1;
+        return lineCounts[index] == boardSize;
+    }
+
+    // Bounds and turn order, null when both are fine
+    private ReplayResult checkMove(int[] moveCells, int[] moveSlots, int index, int slot, int cellsCount) {
+        if(moveCells[index] < 0 || moveCells[index] >= cellsCount) {
+            return illegal(ReplayStatus.OUT_OF_BOUNDS, index);
+        }
+
+        if(moveSlots != null && moveSlots[index] != slot) {
+            return illegal(ReplayStatus.WRONG_TURN, index);
+        }
+
+        return null;
+    }
+
+    private boolean hasLiveLine(long[] activeLineMasks, int playersCount) {
+        // Without any winnable line only a full board ends the game
+        if(activeLineMasks.length == 0) {
+            return true;
+        }
+
+        for(long lineMask: activeLineMasks) {
+            int owners = 0;
+            for (int i = 0; i < playersCount && owners < 2; ++i) {
+                if((playerBoards[i] & lineMask) != 0) {
+                    owners += 1;
+                }
+            }
+
+            if(owners < 2) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isFull(long playerBoard, long lineMask) {
+        return (playerBoard & lineMask) == lineMask;
+    }
+
+    // Rows, then cols, then the two diags
+    private long[] getLineMasks(int boardSize) {
+        long[] lineMasks = lineMasksBySize.get(boardSize);
+        if(lineMasks != null) {
+            return lineMasks;
+        }
+
+        lineMasks = new long[2 * boardSize + 2];
+        for (int row = 0; row < boardSize; ++row) {
+            for (int col = 0; col < boardSize; ++col) {
+                long bit = 1L << (row * boardSize + col);
+                lineMasks[row] |= bit;
+                lineMasks[boardSize + col] |= bit;
+                if(row == col) {
+                    lineMasks[2 * boardSize] |= bit;
+                }
+                if(row + col == boardSize - 1) {
+                    lineMasks[2 * boardSize + 1] |= bit;
+                }
+            }
+        }
+
+        lineMasksBySize.put(boardSize, lineMasks);
+        return lineMasks;
+    }
+
+    private void prepareCounters(int wordsCount, int linesCount) {
+        deadLines = 0;
+
+        if(occupiedWords.length < wordsCount) {
+            occupiedWords = new long[wordsCount];
+        } else {
+            Arrays.fill(occupiedWords, 0, wordsCount, 0L);
+        }
+
+        if(linePlayers.length < linesCount) {
+            linePlayers = new byte[linesCount];
+            lineCounts = new short[linesCount * Game.MAX_PLAYERS];
+        } else {
+            Arrays.fill(linePlayers, 0, linesCount, (byte) 0);
+            Arrays.fill(lineCounts, 0, linesCount * Game.MAX_PLAYERS, (short) 0);
+        }
+    }
+}